@@ -1,33 +1,108 @@
 package com.example.ThesisBackend.Caching;
 
 import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Weigher;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.cache.caffeine.CaffeineCacheManager;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.ResponseEntity;
 
-import java.util.concurrent.TimeUnit;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
+/**
+ * 🗃️ One Caffeine spec per cache (limits come from application.properties):
+ *  - eventsCache: rendered feed pages, refreshed in the background after a while so a
+ *    hot page never expires under a reader (see {@link EventFeedCache})
+ *  - eventByIdCache: event details, entry-count bound
+ *  - eventImageCache: bytes of small images (larger ones are streamed), bound by total bytes
+ *  - eventImageMetadataCache: GridFS file documents (type, length, upload date), entry-count bound
+ * All four record hit / miss / eviction stats (exposed under /actuator/metrics/cache.*).
+ */
 @Configuration
 @EnableCaching
 public class CacheConfig {
 
+    // Rough per-entry overhead (key, headers, node) added to an image's byte count
+    private static final int IMAGE_ENTRY_OVERHEAD = 1024;
+
+    // 🔁 Runs feed page re-renders (Mongo reads) off the common pool.
+    // Not a bean: an Executor bean would replace Spring's default applicationTaskExecutor.
+    private final ExecutorService feedRefreshExecutor = Executors.newFixedThreadPool(2, runnable -> {
+        Thread thread = new Thread(runnable, "feed-cache-refresh");
+        thread.setDaemon(true);
+        return thread;
+    });
+
     @Bean
-    public CacheManager cacheManager() {
-        CaffeineCacheManager cacheManager =
-                new CaffeineCacheManager(
-                        "eventsCache",
-                        "eventByIdCache",
-                        "eventImageCache"
-                );
-
-        cacheManager.setCaffeine(
+    public CacheManager cacheManager(
+            @Value("${cache.events.maximumSize:500}") long eventsMaximumSize,
+            @Value("${cache.events.refreshAfterWriteSeconds:300}") long eventsRefreshSeconds,
+            @Value("${cache.events.expireAfterAccessMinutes:30}") long eventsExpireMinutes,
+            @Value("${cache.eventById.maximumSize:1000}") long eventByIdMaximumSize,
+            @Value("${cache.eventById.expireAfterWriteMinutes:30}") long eventByIdExpireMinutes,
+            @Value("${cache.eventImage.maximumBytes:67108864}") long eventImageMaximumBytes,
+            @Value("${cache.eventImage.expireAfterAccessMinutes:60}") long eventImageExpireMinutes,
+            @Value("${cache.eventImageMetadata.maximumSize:5000}") long eventImageMetadataMaximumSize) {
+
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+        // Only the caches below exist; a typo in a cache name fails instead of creating one
+        cacheManager.setCacheNames(Collections.emptyList());
+
+        cacheManager.registerCustomCache(EventFeedCache.CACHE_NAME,
+                Caffeine.newBuilder()
+                        .maximumSize(eventsMaximumSize)
+                        .refreshAfterWrite(Duration.ofSeconds(eventsRefreshSeconds))
+                        .expireAfterAccess(Duration.ofMinutes(eventsExpireMinutes))
+                        .executor(feedRefreshExecutor)
+                        .recordStats()
+                        .build(EventFeedCache.reloader()));
+
+        cacheManager.registerCustomCache("eventByIdCache",
+                Caffeine.newBuilder()
+                        .maximumSize(eventByIdMaximumSize)
+                        .expireAfterWrite(Duration.ofMinutes(eventByIdExpireMinutes))
+                        .recordStats()
+                        .build());
+
+        cacheManager.registerCustomCache("eventImageCache",
+                Caffeine.newBuilder()
+                        .maximumWeight(eventImageMaximumBytes)
+                        .weigher(imageBytes())
+                        .expireAfterAccess(Duration.ofMinutes(eventImageExpireMinutes))
+                        .recordStats()
+                        .build());
+
+        // A stored file never changes, so entries only need a size bound; misses are never put
+        // (EventImageService.findImageFile), so an id doesn't stay "not found" once its upload lands
+        cacheManager.registerCustomCache("eventImageMetadataCache",
                 Caffeine.newBuilder()
-                        .maximumSize(1000)
-                        .expireAfterWrite(30, TimeUnit.MINUTES)
-        );
+                        .maximumSize(eventImageMetadataMaximumSize)
+                        .recordStats()
+                        .build());
 
         return cacheManager;
     }
-}
\ No newline at end of file
+
+    @PreDestroy
+    public void shutdown() {
+        feedRefreshExecutor.shutdownNow();
+    }
+
+    /**
+     * ⚖️ Weight of a cached image = its size in bytes
+     */
+    private static Weigher<Object, Object> imageBytes() {
+        return (key, value) -> {
+            Object body = value instanceof ResponseEntity<?> response ? response.getBody() : value;
+            long bytes = body instanceof byte[] data ? data.length : 0;
+            return (int) Math.min(Integer.MAX_VALUE, bytes + IMAGE_ENTRY_OVERHEAD);
+        };
+    }
+}
@@ -0,0 +1,203 @@
+package com.example.ThesisBackend.Caching;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.CacheLoader;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Locale;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import java.util.zip.CRC32;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * 📦 Rendered event feed pages, kept in "eventsCache" as ready-to-send bytes.
+ * ----------------------------------------------------------
+ * Each page is serialized to UTF-8 JSON once (plus a gzip copy) and tagged with the
+ * current feed version. Any write that changes what a feed card shows calls
+ * {@link #bumpVersion()}, so:
+ *  - entries are keyed by version and a stale page is never served
+ *  - the ETag is the version plus a CRC of the body, so a client's If-None-Match is a string compare
+ * Pages are also re-rendered in the background (refreshAfterWrite, see CacheConfig) to pick up
+ * changes made outside the app; readers keep getting the old page until the new one is ready.
+ * The version starts from a random epoch, so ETags from before a restart never match.
+ * Single-instance: the counter lives in this process.
+ */
+@Component
+public class EventFeedCache {
+
+    public static final String CACHE_NAME = "eventsCache";
+
+    private final Cache cache;
+    private final ObjectMapper objectMapper;
+
+    private final String epoch = Long.toHexString(ThreadLocalRandom.current().nextLong());
+    private final AtomicLong version = new AtomicLong();
+
+    public EventFeedCache(CacheManager cacheManager, ObjectMapper objectMapper) {
+        this.cache = cacheManager.getCache(CACHE_NAME);
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * ✅ Rendered page for {@code key} at the current version, rendering it on a miss.
+     * Exceptions from {@code page} are rethrown as-is and nothing is cached.
+     */
+    public RenderedFeed get(String key, Supplier<?> page) {
+        long current = version.get();
+        try {
+            return cache.get(current + "|" + key, () -> render(current, page));
+        } catch (Cache.ValueRetrievalException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * 🔁 Something on a feed card changed: later requests render (and tag) fresh pages
+     */
+    public void bumpVersion() {
+        version.incrementAndGet();
+    }
+
+    /**
+     * Cache key for one feed query
+     */
+    public static String key(String category, String location, String from, String to, String after, int limit) {
+        return category + "|" + location + "|" + from + "|" + to + "|" + after + "|" + limit;
+    }
+
+    /**
+     * True when the Accept-Encoding header allows gzip (and doesn't refuse it with q=0)
+     */
+    public static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String coding : acceptEncoding.toLowerCase(Locale.ROOT).split(",")) {
+            String[] parts = coding.trim().split(";");
+            if (!parts[0].trim().equals("gzip") && !parts[0].trim().equals("*")) {
+                continue;
+            }
+            for (int i = 1; i < parts.length; i++) {
+                String param = parts[i].replace(" ", "");
+                if (param.startsWith("q=") && param.substring(2).matches("0(\\.0*)?")) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * 🔁 Loader for the Caffeine cache behind "eventsCache": pages are only ever added through
+     * {@link #get}, so load finds nothing; a refresh re-renders the old page's query.
+     */
+    static CacheLoader<Object, Object> reloader() {
+        return new CacheLoader<>() {
+            @Override
+            public Object load(Object key) {
+                return null;
+            }
+
+            @Override
+            public Object reload(Object key, Object oldValue) {
+                return oldValue instanceof RenderedFeed feed ? feed.refresh() : null;
+            }
+        };
+    }
+
+    private RenderedFeed render(long pageVersion, Supplier<?> page) {
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(page.get());
+            byte[] gzip = gzip(json);
+
+            CRC32 crc = new CRC32();
+            crc.update(json);
+            String tag = epoch + "-" + pageVersion + "-" + Long.toHexString(crc.getValue());
+
+            // Only keep the gzip copy when it actually saves bytes
+            return new RenderedFeed(json, gzip.length < json.length ? gzip : null, tag,
+                    // Pages of an outdated version are dropped instead of re-rendered
+                    () -> version.get() == pageVersion ? render(pageVersion, page) : null);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static byte[] gzip(byte[] bytes) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(bytes.length / 4 + 64);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(bytes);
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * 🧾 One rendered page: identity and gzip bodies with their strong ETags
+     */
+    public static class RenderedFeed {
+
+        private final byte[] json;
+        private final byte[] gzip;
+        private final String etag;
+        private final String gzipEtag;
+        private final Supplier<RenderedFeed> refresher;
+
+        RenderedFeed(byte[] json, byte[] gzip, String tag, Supplier<RenderedFeed> refresher) {
+            this.json = json;
+            this.gzip = gzip;
+            this.etag = "\"" + tag + "\"";
+            this.gzipEtag = "\"" + tag + "-gzip\"";
+            this.refresher = refresher;
+        }
+
+        RenderedFeed refresh() {
+            return refresher.get();
+        }
+
+        public byte[] getJson() {
+            return json;
+        }
+
+        public byte[] getGzip() {
+            return gzip;
+        }
+
+        public String getEtag() {
+            return etag;
+        }
+
+        public String getGzipEtag() {
+            return gzipEtag;
+        }
+
+        /**
+         * True when an If-None-Match header names this page (either encoding) or is "*"
+         */
+        public boolean matches(String ifNoneMatch) {
+            if (ifNoneMatch == null || ifNoneMatch.isBlank()) {
+                return false;
+            }
+            for (String candidate : ifNoneMatch.split(",")) {
+                String tag = candidate.trim();
+                if (tag.startsWith("W/")) {
+                    tag = tag.substring(2);   // If-None-Match uses weak comparison
+                }
+                if (tag.equals("*") || tag.equals(etag) || tag.equals(gzipEtag)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
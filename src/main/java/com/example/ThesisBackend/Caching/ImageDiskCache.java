@@ -0,0 +1,306 @@
+package com.example.ThesisBackend.Caching;
+
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedOutputStream;
+
+/**
+ * 💽 Disk tier behind eventImageCache: GridFS image bytes copied to a local directory.
+ * ----------------------------------------------------------
+ *  - one file per GridFS id, named {@code <id>-<crc32>.img}; a stored image never changes,
+ *    so a file is either complete and current or gets thrown away
+ *  - files are written to a .tmp and renamed, so a crash never leaves a half file behind
+ *  - total size is kept under a byte budget, least recently used file first out
+ *  - on startup the directory is re-read in the background: leftovers and files whose
+ *    CRC doesn't match their name are deleted, the rest are served again without MongoDB
+ * Misses are filled in the background by a single thread; until then GridFS serves the image.
+ * Evicted and removed files are deleted after a short grace period, not at once: a path handed
+ * to Tomcat sendfile is only opened after the controller returns, and must still be there then.
+ * Once opened, deleting the path no longer affects the transfer.
+ */
+@Component
+public class ImageDiskCache {
+
+    private static final String SUFFIX = ".img";
+
+    // How long an evicted file stays on disk for a sendfile that already has its path
+    private static final long DELETE_GRACE_SECONDS = 30;
+
+    private final Path directory;
+    private final long maxBytes;
+
+    // id → file, in access order (eldest = least recently used)
+    private final LinkedHashMap<String, DiskEntry> entries = new LinkedHashMap<>(64, 0.75f, true);
+    private long totalBytes;
+
+    private final Set<String> filling = ConcurrentHashMap.newKeySet();
+
+    // Evicted files waiting out the grace period (deleted at shutdown if still here)
+    private final Set<Path> retired = ConcurrentHashMap.newKeySet();
+
+    private final ScheduledExecutorService diskRunner = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "image-disk-cache");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * Writes an image's bytes, start to end
+     */
+    @FunctionalInterface
+    public interface ImageSource {
+        void writeTo(OutputStream out) throws IOException;
+    }
+
+    public ImageDiskCache(@Value("${events.image.diskCache.dir:${java.io.tmpdir}/event-image-cache}") String directory,
+                          @Value("${events.image.diskCache.maxBytes:536870912}") long maxBytes) {
+        this.directory = Paths.get(directory);
+        this.maxBytes = maxBytes;
+
+        if (isEnabled()) {
+            diskRunner.submit(this::warmStart);
+        }
+    }
+
+    public boolean isEnabled() {
+        return maxBytes > 0;
+    }
+
+    /**
+     * ✅ Cached file for an image, or null (not cached yet, or its size doesn't match)
+     */
+    public Path find(String id, long expectedLength) {
+        if (!isEnabled()) {
+            return null;
+        }
+        synchronized (this) {
+            DiskEntry entry = entries.get(id);
+            if (entry == null) {
+                return null;
+            }
+            if (entry.size != expectedLength) {
+                drop(id);
+                return null;
+            }
+            return entry.path;
+        }
+    }
+
+    /**
+     * ✅ Copy an image to disk in the background (no-op if it's already there or on its way)
+     */
+    public void fill(String id, long length, ImageSource source) {
+        if (!isEnabled() || length > maxBytes || find(id, length) != null || !filling.add(id)) {
+            return;
+        }
+        diskRunner.submit(() -> {
+            try {
+                write(id, length, source);
+            } catch (Exception e) {
+                System.out.println("⚠️ Could not cache image " + id + " on disk: " + e.getMessage());
+            } finally {
+                filling.remove(id);
+            }
+        });
+    }
+
+    /**
+     * 🧹 Forget an image (deleted from GridFS)
+     */
+    public synchronized void remove(String id) {
+        drop(id);
+    }
+
+    private void write(String id, long length, ImageSource source) throws IOException {
+        Files.createDirectories(directory);
+        Path temp = Files.createTempFile(directory, id + "-", ".tmp");
+        try {
+            CRC32 crc = new CRC32();
+            try (OutputStream out = new CheckedOutputStream(Files.newOutputStream(temp), crc)) {
+                source.writeTo(out);
+            }
+            long size = Files.size(temp);
+            if (size != length) {
+                throw new IOException("expected " + length + " bytes, got " + size);
+            }
+
+            Path target = directory.resolve(id + "-" + Long.toHexString(crc.getValue()) + SUFFIX);
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            register(id, target, size);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    private synchronized void register(String id, Path path, long size) {
+        // Same id and content written again during a grace period: the file is live, not pending delete
+        retired.remove(path);
+        DiskEntry previous = entries.put(id, new DiskEntry(path, size));
+        if (previous != null) {
+            totalBytes -= previous.size;
+            if (!previous.path.equals(path)) {
+                retire(previous.path);
+            }
+        }
+        totalBytes += size;
+
+        // LRU: drop the coldest files until the budget fits again
+        Iterator<Map.Entry<String, DiskEntry>> eldest = entries.entrySet().iterator();
+        while (totalBytes > maxBytes && eldest.hasNext()) {
+            Map.Entry<String, DiskEntry> entry = eldest.next();
+            if (entry.getKey().equals(id)) {
+                continue;
+            }
+            eldest.remove();
+            totalBytes -= entry.getValue().size;
+            retire(entry.getValue().path);
+        }
+    }
+
+    // Caller holds the lock
+    private void drop(String id) {
+        DiskEntry entry = entries.remove(id);
+        if (entry != null) {
+            totalBytes -= entry.size;
+            retire(entry.path);
+        }
+    }
+
+    // Out of the index now, off the disk after the grace period
+    private void retire(Path path) {
+        if (!retired.add(path)) {
+            return;
+        }
+        try {
+            diskRunner.schedule(() -> {
+                if (retired.remove(path)) {
+                    deleteQuietly(path);
+                }
+            }, DELETE_GRACE_SECONDS, TimeUnit.SECONDS);
+        } catch (RejectedExecutionException e) {
+            // shutting down — shutdown() deletes what's left
+        }
+    }
+
+    /**
+     * ♻️ Re-index files left by the previous run, verifying each against the CRC in its name.
+     * Oldest files are registered first so they're the first to go if the budget shrank.
+     */
+    private void warmStart() {
+        if (!Files.isDirectory(directory)) {
+            return;
+        }
+
+        List<Path> files = new ArrayList<>();
+        try (DirectoryStream<Path> listing = Files.newDirectoryStream(directory)) {
+            for (Path path : listing) {
+                String name = path.getFileName().toString();
+                if (name.endsWith(SUFFIX)) {
+                    files.add(path);
+                } else if (name.endsWith(".tmp")) {
+                    deleteQuietly(path);
+                }
+            }
+        } catch (IOException e) {
+            System.out.println("⚠️ Could not read image disk cache " + directory + ": " + e.getMessage());
+            return;
+        }
+
+        files.sort(Comparator.comparingLong(ImageDiskCache::lastModified));
+
+        int restored = 0;
+        int discarded = 0;
+        for (Path path : files) {
+            String name = path.getFileName().toString();
+            String[] parts = name.substring(0, name.length() - SUFFIX.length()).split("-");
+            if (parts.length != 2 || !parts[1].equals(crcOf(path))) {
+                deleteQuietly(path);
+                discarded++;
+                continue;
+            }
+            try {
+                register(parts[0], path, Files.size(path));
+                restored++;
+            } catch (IOException e) {
+                deleteQuietly(path);
+                discarded++;
+            }
+        }
+
+        System.out.println("💽 Image disk cache: restored " + restored + " files (" + totalBytes + " bytes)"
+                + (discarded > 0 ? ", discarded " + discarded + " damaged" : ""));
+    }
+
+    private static String crcOf(Path path) {
+        CRC32 crc = new CRC32();
+        byte[] buffer = new byte[64 * 1024];
+        try (InputStream in = Files.newInputStream(path)) {
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                crc.update(buffer, 0, read);
+            }
+            return Long.toHexString(crc.getValue());
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    private static long lastModified(Path path) {
+        try {
+            return Files.getLastModifiedTime(path).toMillis();
+        } catch (IOException e) {
+            return 0;
+        }
+    }
+
+    private static void deleteQuietly(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            System.out.println("⚠️ Could not delete cached image " + path + ": " + e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        diskRunner.shutdownNow();
+        // No more responses to serve: pending deletes can run now
+        for (Path path : retired) {
+            deleteQuietly(path);
+        }
+        retired.clear();
+    }
+
+    private static final class DiskEntry {
+        private final Path path;
+        private final long size;
+
+        private DiskEntry(Path path, long size) {
+            this.path = path;
+            this.size = size;
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package com.example.ThesisBackend.Model;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+/**
+ * 📊 EvaluationQuestionStatsModel - Running totals of one question's ratings for one event
+ * (collection: eventEvaluationQuestionStats, unique on eventId + question).
+ * count / sum / sumSquares are enough for the mean and the standard deviation.
+ */
+@Document(collection = "eventEvaluationQuestionStats")
+public class EvaluationQuestionStatsModel {
+
+    @Id
+    private String id;
+
+    private String eventId;
+    private String question;
+
+    private long count;
+    private double sum;
+    private double sumSquares;
+
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public String getEventId() {
+        return eventId;
+    }
+
+    public void setEventId(String eventId) {
+        this.eventId = eventId;
+    }
+
+    public String getQuestion() {
+        return question;
+    }
+
+    public void setQuestion(String question) {
+        this.question = question;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public void setCount(long count) {
+        this.count = count;
+    }
+
+    public double getSum() {
+        return sum;
+    }
+
+    public void setSum(double sum) {
+        this.sum = sum;
+    }
+
+    public double getSumSquares() {
+        return sumSquares;
+    }
+
+    public void setSumSquares(double sumSquares) {
+        this.sumSquares = sumSquares;
+    }
+
+    public double getAverage() {
+        return count == 0 ? 0 : sum / count;
+    }
+
+    public double getStandardDeviation() {
+        if (count == 0) {
+            return 0;
+        }
+        double mean = sum / count;
+        return Math.sqrt(Math.max(0, sumSquares / count - mean * mean));
+    }
+}
@@ -0,0 +1,100 @@
+package com.example.ThesisBackend.Model;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+/**
+ * 📄 EventAttendanceModel - One scanned attendance (collection: eventAttendance)
+ * Stored apart from the event so event reads don't grow with attendance.
+ * Unique on (eventId, studentId); listed per event in _id order.
+ * Indexes are created at startup by {@code EventAttendanceMigration}.
+ */
+@Document(collection = "eventAttendance")
+public class EventAttendanceModel {
+
+    @Id
+    private String id;
+
+    private String eventId;
+
+    private String studentId;
+    private String studentNumber;
+    private String studentName;
+    private String role;
+    private String department;
+    private String course;
+    private String dateScanned;
+
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public String getEventId() {
+        return eventId;
+    }
+
+    public void setEventId(String eventId) {
+        this.eventId = eventId;
+    }
+
+    public String getStudentId() {
+        return studentId;
+    }
+
+    public void setStudentId(String studentId) {
+        this.studentId = studentId;
+    }
+
+    public String getStudentNumber() {
+        return studentNumber;
+    }
+
+    public void setStudentNumber(String studentNumber) {
+        this.studentNumber = studentNumber;
+    }
+
+    public String getStudentName() {
+        return studentName;
+    }
+
+    public void setStudentName(String studentName) {
+        this.studentName = studentName;
+    }
+
+    public String getRole() {
+        return role;
+    }
+
+    public void setRole(String role) {
+        this.role = role;
+    }
+
+    public String getDepartment() {
+        return department;
+    }
+
+    public void setDepartment(String department) {
+        this.department = department;
+    }
+
+    public String getCourse() {
+        return course;
+    }
+
+    public void setCourse(String course) {
+        this.course = course;
+    }
+
+    public String getDateScanned() {
+        return dateScanned;
+    }
+
+    public void setDateScanned(String dateScanned) {
+        this.dateScanned = dateScanned;
+    }
+}
@@ -0,0 +1,107 @@
+package com.example.ThesisBackend.Model;
+
+import com.example.ThesisBackend.eventUtils.StudentEvaluationInfo;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * 📄 EventEvaluationModel - One submitted evaluation (collection: eventEvaluation)
+ * Kept out of the event document; the running totals dashboards read live in
+ * EventEvaluationSummaryModel and EvaluationQuestionStatsModel.
+ * One submission per (eventId, studentId), enforced by a partial unique index
+ * (submissions moved from the old embedded list that couldn't be linked to a student have none).
+ */
+@Document(collection = "eventEvaluation")
+public class EventEvaluationModel {
+
+    @Id
+    private String id;
+
+    private String eventId;
+
+    private String studentId;
+    private String studentName;
+    private String course;
+    private double studentAverageRate;
+    private String studentSuggestion;
+    private List<StudentEvaluationInfo> studentEvaluationInfos;
+
+    // null for submissions moved over from the old embedded list
+    private Instant submittedAt;
+
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public String getEventId() {
+        return eventId;
+    }
+
+    public void setEventId(String eventId) {
+        this.eventId = eventId;
+    }
+
+    public String getStudentId() {
+        return studentId;
+    }
+
+    public void setStudentId(String studentId) {
+        this.studentId = studentId;
+    }
+
+    public String getStudentName() {
+        return studentName;
+    }
+
+    public void setStudentName(String studentName) {
+        this.studentName = studentName;
+    }
+
+    public String getCourse() {
+        return course;
+    }
+
+    public void setCourse(String course) {
+        this.course = course;
+    }
+
+    public double getStudentAverageRate() {
+        return studentAverageRate;
+    }
+
+    public void setStudentAverageRate(double studentAverageRate) {
+        this.studentAverageRate = studentAverageRate;
+    }
+
+    public String getStudentSuggestion() {
+        return studentSuggestion;
+    }
+
+    public void setStudentSuggestion(String studentSuggestion) {
+        this.studentSuggestion = studentSuggestion;
+    }
+
+    public List<StudentEvaluationInfo> getStudentEvaluationInfos() {
+        return studentEvaluationInfos;
+    }
+
+    public void setStudentEvaluationInfos(List<StudentEvaluationInfo> studentEvaluationInfos) {
+        this.studentEvaluationInfos = studentEvaluationInfos;
+    }
+
+    public Instant getSubmittedAt() {
+        return submittedAt;
+    }
+
+    public void setSubmittedAt(Instant submittedAt) {
+        this.submittedAt = submittedAt;
+    }
+}
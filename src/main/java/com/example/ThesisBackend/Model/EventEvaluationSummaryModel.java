@@ -0,0 +1,62 @@
+package com.example.ThesisBackend.Model;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Transient;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.util.List;
+
+/**
+ * 📊 EventEvaluationSummaryModel - Running totals of an event's evaluations
+ * (collection: eventEvaluationSummary, _id = eventId). Updated with $inc on every submission.
+ */
+@Document(collection = "eventEvaluationSummary")
+public class EventEvaluationSummaryModel {
+
+    @Id
+    private String eventId;
+
+    private long evaluationCount;
+    private double averageRateSum;      // sum of studentAverageRate
+
+    // Filled in on read from EvaluationQuestionStatsModel, not stored
+    @Transient
+    private List<EvaluationQuestionStatsModel> questions;
+
+
+    public String getEventId() {
+        return eventId;
+    }
+
+    public void setEventId(String eventId) {
+        this.eventId = eventId;
+    }
+
+    public long getEvaluationCount() {
+        return evaluationCount;
+    }
+
+    public void setEvaluationCount(long evaluationCount) {
+        this.evaluationCount = evaluationCount;
+    }
+
+    public double getAverageRateSum() {
+        return averageRateSum;
+    }
+
+    public void setAverageRateSum(double averageRateSum) {
+        this.averageRateSum = averageRateSum;
+    }
+
+    public double getAverageRate() {
+        return evaluationCount == 0 ? 0 : averageRateSum / evaluationCount;
+    }
+
+    public List<EvaluationQuestionStatsModel> getQuestions() {
+        return questions;
+    }
+
+    public void setQuestions(List<EvaluationQuestionStatsModel> questions) {
+        this.questions = questions;
+    }
+}
@@ -11,7 +11,9 @@ import java.util.List;
 
 /**
  * 📄 EventModel - Represents a single event document in MongoDB (collection: eventData)
- * Includes event information, attendance, agenda, evaluations, and optional Base64 image.
+ * Includes event information, agenda, evaluation questions, and optional Base64 image.
+ * Attendance (EventAttendanceModel) and evaluation submissions (EventEvaluationModel) live in
+ * their own collections; only the attendance count is kept here.
  */
 @Document(collection = "eventData")
 public class EventModel {
@@ -30,6 +32,10 @@ public class EventModel {
     private String eventDate;
     private String eventTime;
     private String eventTimeLength;
+
+    // Normalized from eventDate / eventTime / eventTimeLength (see EventTimes); indexed for time-range queries
+    private Instant eventStart;
+    private Instant eventEnd;
     private Instant evaluationStart;
     private Instant evaluationEnd;
     private String eventLocation;
@@ -38,6 +44,9 @@ public class EventModel {
     // Total number of students attending (can be updated dynamically)
     private int allStudentAttending;
 
+    // Number of attendance records (eventAttendance collection), kept in step by $inc on every scan
+    private int attendanceCount;
+
     // Organizer information (embedded object)
     private EventOrganizer eventOrganizer;
 
@@ -48,10 +57,8 @@ public class EventModel {
     /* =========================================================
        🟦 RELATED OBJECT COLLECTIONS
     ========================================================= */
-    private List<EventAttendance> eventAttendances;                // Attendance records
     private List<EventAgenda> eventAgendas;                        // Event agendas/schedules
     private List<EvaluationQuestion> evaluationQuestions;          // Evaluation form questions
-    private List<EventEvaluationDetails> eventEvaluationDetails;   // Submitted evaluations
 
 
     /* =========================================================
@@ -143,6 +150,23 @@ public class EventModel {
     }
 
 
+    public Instant getEventStart() {
+        return eventStart;
+    }
+
+    public void setEventStart(Instant eventStart) {
+        this.eventStart = eventStart;
+    }
+
+    public Instant getEventEnd() {
+        return eventEnd;
+    }
+
+    public void setEventEnd(Instant eventEnd) {
+        this.eventEnd = eventEnd;
+    }
+
+
     public String getEventLocation() {
         return eventLocation;
     }
@@ -170,6 +194,15 @@ public class EventModel {
     }
 
 
+    public int getAttendanceCount() {
+        return attendanceCount;
+    }
+
+    public void setAttendanceCount(int attendanceCount) {
+        this.attendanceCount = attendanceCount;
+    }
+
+
     public EventOrganizer getEventOrganizer() {
         return eventOrganizer;
     }
@@ -187,14 +220,6 @@ public class EventModel {
         this.eventImageId = eventImageId;
     }
 
-    public List<EventAttendance> getEventAttendances() {
-        return eventAttendances;
-    }
-
-    public void setEventAttendances(List<EventAttendance> eventAttendances) {
-        this.eventAttendances = eventAttendances;
-    }
-
 
     public List<EventAgenda> getEventAgendas() {
         return eventAgendas;
@@ -213,12 +238,4 @@ public class EventModel {
         this.evaluationQuestions = evaluationQuestions;
     }
 
-
-    public List<EventEvaluationDetails> getEventEvaluationDetails() {
-        return eventEvaluationDetails;
-    }
-
-    public void setEventEvaluationDetails(List<EventEvaluationDetails> eventEvaluationDetails) {
-        this.eventEvaluationDetails = eventEvaluationDetails;
-    }
 }
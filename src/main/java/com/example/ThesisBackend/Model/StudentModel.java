@@ -5,6 +5,7 @@ import org.springframework.data.annotation.Id;
 import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 
+import java.time.Instant;
 import java.util.List;
 
 
@@ -24,6 +25,9 @@ public class StudentModel {
 
    private OfficerCredentials officerCredentials;
 
+   // Last password / role / officerCredentials change; tokens issued before it are rejected
+   private Instant credentialsChangedAt;
+
     // info
     private  String studentName;
     private String course;
@@ -91,6 +95,14 @@ public class StudentModel {
         this.role = role;
     }
 
+    public Instant getCredentialsChangedAt() {
+        return credentialsChangedAt;
+    }
+
+    public void setCredentialsChangedAt(Instant credentialsChangedAt) {
+        this.credentialsChangedAt = credentialsChangedAt;
+    }
+
     public String getCourse() {
         return course;
     }
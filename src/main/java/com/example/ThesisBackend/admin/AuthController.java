@@ -7,22 +7,30 @@ import com.example.ThesisBackend.adminUtils.*;
 import com.example.ThesisBackend.eventUtils.EventEvaluationDetails;
 import com.example.ThesisBackend.repository.StudentRepository;
 import com.example.ThesisBackend.security.JWTService;
+import com.example.ThesisBackend.security.PasswordVerificationService;
 import com.example.ThesisBackend.service.AdminService;
 import com.example.ThesisBackend.service.ExpoNotificationService;
 import com.example.ThesisBackend.service.StudentService;
 import com.example.ThesisBackend.studentUtils.ResetPasswordRequest;
+import com.example.ThesisBackend.studentUtils.StudentImportJob;
+import com.example.ThesisBackend.studentUtils.StudentImportReport;
 import com.example.ThesisBackend.studentUtils.StudentEventAttended;
 import com.example.ThesisBackend.studentUtils.StudentNotification;
 import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
 
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
 
 /**
  * 🎓 AuthController — handles authentication and admin-level operations.
@@ -38,7 +46,7 @@ public class AuthController {
 
     @Autowired private StudentRepository studentRepository;
     @Autowired private AdminService adminService;
-    @Autowired private PasswordEncoder passwordEncoder;
+    @Autowired private PasswordVerificationService passwordVerificationService;
     @Autowired private JWTService jwtService;
     @Autowired private StudentService studentService;
     @Autowired private ExpoNotificationService expoNotificationService;
@@ -284,6 +292,76 @@ public class AuthController {
         }
     }
 
+    /**
+     * 📥 Bulk roster import (ADMIN only).
+     * Existing student numbers are looked up in one query, passwords are hashed in parallel
+     * and rows are written with unordered bulk inserts. Returns the outcome of every row.
+     */
+    @PostMapping("/admin/importStudents")
+    public ResponseEntity<?> importStudents(
+            @RequestBody List<StudentModel> students,
+            @RequestHeader("Authorization") String token) {
+
+        try {
+            StudentImportReport report = adminService.importStudents(students, token);
+            return ResponseEntity.ok(report);
+
+        } catch (RuntimeException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(e.getMessage());
+
+        } catch (Exception e) {
+            e.printStackTrace();
+
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body("❌ An unexpected error occurred while importing students.");
+        }
+    }
+
+    /**
+     * 📄 Streaming CSV roster import (ADMIN only).
+     * The file is read row by row in the background; poll the returned job for progress.
+     */
+    @PostMapping(value = "/admin/importStudentsCsv", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<?> importStudentsCsv(
+            @RequestParam("file") MultipartFile file,
+            @RequestHeader("Authorization") String token) {
+
+        try {
+            StudentImportJob job = adminService.startStudentCsvImport(file, token);
+            return ResponseEntity.accepted().body(job);
+
+        } catch (RuntimeException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(e.getMessage());
+
+        } catch (Exception e) {
+            e.printStackTrace();
+
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body("❌ An unexpected error occurred while uploading the roster.");
+        }
+    }
+
+    @GetMapping("/admin/importStudentsCsv/{jobId}")
+    public ResponseEntity<?> getStudentImportJob(
+            @PathVariable String jobId,
+            @RequestHeader("Authorization") String token) {
+
+        try {
+            var jobOpt = adminService.getStudentImportJob(jobId, token);
+
+            if (jobOpt.isEmpty()) {
+                return ResponseEntity.status(404).body("❌ Import job not found");
+            }
+
+            return ResponseEntity.ok(jobOpt.get());
+
+        } catch (RuntimeException e) {
+            return ResponseEntity.status(403).body(e.getMessage());
+        }
+    }
+
 //    @PostMapping("/registerOpen")
 //    public ResponseEntity<?> registerOpen(
 //            @RequestBody StudentModel student) {
@@ -308,18 +386,36 @@ public class AuthController {
      * Verifies credentials and returns JWT token with user role.
      */
     @PostMapping("/login")
-    public ResponseEntity<?> login(@RequestBody StudentModel loginRequest, HttpServletRequest request) {
+    public CompletableFuture<ResponseEntity<?>> login(@RequestBody StudentModel loginRequest, HttpServletRequest request) {
         if (loginRequest.getStudentNumber() == null || loginRequest.getStudentPassword() == null) {
-            return ResponseEntity.badRequest().body("❌ Missing student number or password");
+            return CompletableFuture.completedFuture(
+                    ResponseEntity.badRequest().body("❌ Missing student number or password"));
         }
 
         var studentOpt = studentRepository.findByStudentNumber(loginRequest.getStudentNumber());
         if (studentOpt.isEmpty()) {
-            return ResponseEntity.status(401).body("❌ Invalid student number or password");
+            return CompletableFuture.completedFuture(
+                    ResponseEntity.status(401).body("❌ Invalid student number or password"));
         }
 
         var student = studentOpt.get();
-        if (!passwordEncoder.matches(loginRequest.getStudentPassword(), student.getStudentPassword())) {
+        String clientIp = getClientIp(request);
+
+        // 🔐 BCrypt runs on the bounded verification pool, not on the Tomcat worker
+        try {
+            return passwordVerificationService
+                    .matches(loginRequest.getStudentPassword(), student.getStudentPassword())
+                    .thenApply(matches -> loginResponse(student, matches, clientIp));
+        } catch (RejectedExecutionException e) {
+            return CompletableFuture.completedFuture(
+                    ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                            .header(HttpHeaders.RETRY_AFTER, "2")
+                            .body("⏳ Too many logins right now, please try again"));
+        }
+    }
+
+    private ResponseEntity<?> loginResponse(StudentModel student, boolean passwordMatches, String clientIp) {
+        if (!passwordMatches) {
             return ResponseEntity.status(401).body("❌ Invalid student number or password");
         }
 
@@ -329,7 +425,6 @@ public class AuthController {
         response.put("_id", student.getId());
         response.put("role", student.getRole());
         response.put("token", token);
-        String clientIp = getClientIp(request);
 
         System.out.println("Client IP: " + clientIp+ "/n" +student.getStudentName());
         return ResponseEntity.ok(response);
@@ -578,8 +673,9 @@ public ResponseEntity<?> addEvaluation(
 
     try {
 
+        // Public endpoint: a valid bearer token (verified by the filter) decides who is submitting
         EventModel updated =
-                adminService.addEventEvaluation(eventId, eventEvaluationDetails);
+                adminService.addEventEvaluation(eventId, eventEvaluationDetails, jwtService.currentPrincipal());
 
         if (updated == null) {
             return ResponseEntity.status(404).body(Map.of(
@@ -594,6 +690,13 @@ public ResponseEntity<?> addEvaluation(
                 "eventTitle", updated.getEventTitle()
         ));
 
+    } catch (DuplicateKeyException e) {
+
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(Map.of(
+                "status", "warning",
+                "message", "⚠️ Evaluation already submitted for this event"
+        ));
+
     } catch (IllegalStateException e) {
 
         return ResponseEntity.badRequest().body(Map.of(
@@ -1,25 +1,46 @@
 package com.example.ThesisBackend.controller;
 
+import com.example.ThesisBackend.Caching.EventFeedCache;
+import com.example.ThesisBackend.Model.EventAttendanceModel;
+import com.example.ThesisBackend.Model.EventEvaluationModel;
+import com.example.ThesisBackend.Model.EventEvaluationSummaryModel;
 import com.example.ThesisBackend.Model.EventModel;
+import com.example.ThesisBackend.eventUtils.AttendanceScanResult;
+import com.example.ThesisBackend.eventUtils.AttendanceUploadResult;
+import com.example.ThesisBackend.eventUtils.CursorPage;
 import com.example.ThesisBackend.eventUtils.EventAttendance;
 import com.example.ThesisBackend.eventUtils.EventEvaluationDetails;
+import com.example.ThesisBackend.eventUtils.EventSummary;
+import com.example.ThesisBackend.service.EventEvaluationService;
 import com.example.ThesisBackend.service.EventImageService;
 import com.example.ThesisBackend.service.EventService;
 import com.example.ThesisBackend.security.JWTService;
+import com.example.ThesisBackend.security.JwtPrincipal;
+import com.mongodb.client.gridfs.model.GridFSFile;
+import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.CachePut;
 import org.springframework.cache.annotation.Cacheable;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRange;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MaxUploadSizeExceededException;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.http.MediaType;
 
 
-import java.util.ArrayList;
+import java.io.IOException;
+import java.nio.file.Path;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 
 @RestController
 @RequestMapping("/api/events")
@@ -34,56 +55,96 @@ public class EventController {
     @Autowired
     private EventImageService eventImageService;
 
-    // ✅ PUBLIC: Get all events (no authentication needed)
+    @Autowired
+    private EventEvaluationService eventEvaluationService;
+
+    @Autowired
+    private EventFeedCache eventFeedCache;
+
+    // Versioned image URLs never change content
+    private static final CacheControl IMAGE_CACHE_CONTROL =
+            CacheControl.maxAge(365, TimeUnit.DAYS).cachePublic().immutable();
+    private static final CacheControl PENDING_VARIANT_CACHE_CONTROL =
+            CacheControl.maxAge(60, TimeUnit.SECONDS).cachePublic();
+
+    // Tomcat sendfile request attributes (end is exclusive)
+    private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    // ✅ PUBLIC: Event feed — card fields only, cursor-paged (no authentication needed)
+    // Served from pre-rendered bytes; a matching If-None-Match gets an empty 304
     @GetMapping
-    @Cacheable("eventsCache")
-    public ResponseEntity<?> getAllEvents() {
+    public ResponseEntity<?> getAllEvents(
+            @RequestParam(required = false) String category,
+            @RequestParam(required = false) String location,
+            @RequestParam(required = false) String from,
+            @RequestParam(required = false) String to,
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "20") int limit,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
         try {
-            List<EventModel> events = eventService.getAllEvents();
-
-            List<Map<String, Object>> responseList = new ArrayList<>();
-
-            for (EventModel event : events) {
-                Map<String, Object> eventData = new HashMap<>();
-
-                eventData.put("id", event.getId());
-                eventData.put("whoPostedName", event.getWhoPostedName());
-                eventData.put("eventTitle", event.getEventTitle());
-                eventData.put("eventShortDescription", event.getEventShortDescription());
-                eventData.put("eventBody", event.getEventBody());
-                eventData.put("eventDate", event.getEventDate());
-                eventData.put("eventTime", event.getEventTime());
-                eventData.put("eventTimeLength", event.getEventTimeLength());
-                eventData.put("evaluationStart", event.getEvaluationStart());
-                eventData.put("evaluationEnd", event.getEvaluationEnd());
-                eventData.put("eventLocation", event.getEventLocation());
-                eventData.put("eventCategory", event.getEventCategory());
-                eventData.put("allStudentAttending", event.getAllStudentAttending());
-                eventData.put("eventOrganizer", event.getEventOrganizer());
-                eventData.put("eventAttendances", event.getEventAttendances());
-                eventData.put("eventAgendas", event.getEventAgendas());
-                eventData.put("evaluationQuestions", event.getEvaluationQuestions());
-                eventData.put("eventEvaluationDetails", event.getEventEvaluationDetails());
-
-                // 🖼️ Add image URL based on your deployed backend
-                if (event.getEventImageId() != null && !event.getEventImageId().isEmpty()) {
-                    String imageUrl = "https://securebackend-ox2e.onrender.com/api/events/image/" + event.getEventImageId();
-                    eventData.put("eventImageUrl", imageUrl);
-                } else {
-                    eventData.put("eventImageUrl", null);
-                }
+            EventFeedCache.RenderedFeed feed = eventFeedCache.get(
+                    EventFeedCache.key(category, location, from, to, after, limit),
+                    () -> eventService.getEventSummaries(category, location, from, to, after, limit));
+
+            boolean gzip = feed.getGzip() != null && EventFeedCache.acceptsGzip(acceptEncoding);
+            String etag = gzip ? feed.getGzipEtag() : feed.getEtag();
+
+            if (feed.matches(ifNoneMatch)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                        .eTag(etag)
+                        .cacheControl(CacheControl.noCache())
+                        .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING)
+                        .build();
+            }
 
-                responseList.add(eventData);
+            ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .eTag(etag)
+                    .cacheControl(CacheControl.noCache())
+                    .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+            if (gzip) {
+                response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
             }
+            return response.body(gzip ? feed.getGzip() : feed.getJson());
 
-            return ResponseEntity.ok(responseList);
+        } catch (IllegalArgumentException e) {
+            // Bad cursor or date filter
+            return ResponseEntity.badRequest().body(e.getMessage());
 
         } catch (Exception e) {
-            return ResponseEntity.status(500).body("❌ Error fetching events: " + e.getMessage());
+            // Database / rendering failures are not the client's fault — and their messages stay in the log
+            e.printStackTrace();
+            return ResponseEntity.status(500).body("❌ Error fetching events");
         }
     }
 
 
+    // ✅ PUBLIC: Next events that haven't started yet (student home screen)
+    @GetMapping("/upcoming")
+    public ResponseEntity<?> getUpcomingEvents(@RequestParam(defaultValue = "3") int limit) {
+        try {
+            return ResponseEntity.ok(eventService.getUpcomingEvents(limit));
+        } catch (Exception e) {
+            e.printStackTrace();
+            return ResponseEntity.status(500).body("❌ Error fetching upcoming events");
+        }
+    }
+
+    // ✅ PUBLIC: Events happening right now
+    @GetMapping("/ongoing")
+    public ResponseEntity<?> getOngoingEvents(@RequestParam(defaultValue = "20") int limit) {
+        try {
+            return ResponseEntity.ok(eventService.getOngoingEvents(limit));
+        } catch (Exception e) {
+            e.printStackTrace();
+            return ResponseEntity.status(500).body("❌ Error fetching ongoing events");
+        }
+    }
+
     @GetMapping("/{id}")
     @Cacheable(value = "eventByIdCache", key = "#id")
     public ResponseEntity<?> getEventById(@PathVariable String id) {
@@ -95,28 +156,158 @@ public class EventController {
 
         return ResponseEntity.ok(eventOpt.get());
     }
+    // ✅ Event image, streamed from GridFS (Content-Length from the stored file)
+    // ?size=thumbnail|card|full picks a resized JPEG; no size (or "original") is the upload as-is.
+    // Image ids change on every upload, so /image/{id} is a versioned URL: cacheable for a year.
+    // Validators are answered from the file metadata alone (304 never opens the GridFS stream),
+    // and a single byte Range is served as 206.
     @GetMapping("/image/{id}")
-    @Cacheable(value = "eventImageCache", key = "#id")
-    public ResponseEntity<byte[]> getEventImage(@PathVariable String id) {
+    public ResponseEntity<StreamingResponseBody> getEventImage(
+            @PathVariable String id,
+            @RequestParam(required = false) String size,
+            @RequestHeader HttpHeaders requestHeaders,
+            HttpServletRequest request) {
         try {
-            byte[] imageBytes = eventImageService.getImageById(id);
-            if (imageBytes == null) {
-                return ResponseEntity.status(404).body(null);
+            boolean original = size == null || size.isBlank() || "original".equalsIgnoreCase(size);
+            if (!original && !eventImageService.isVariant(size)) {
+                return ResponseEntity.badRequest().build();
+            }
+
+            GridFSFile file = original
+                    ? eventImageService.findImageFile(id)
+                    : eventImageService.findImageFile(id, size);
+            if (file == null) {
+                return ResponseEntity.status(404).build();
+            }
+
+            // Variant not generated yet: the original stands in, but only briefly
+            CacheControl cacheControl = !original && file.getObjectId().toHexString().equals(id)
+                    ? PENDING_VARIANT_CACHE_CONTROL
+                    : IMAGE_CACHE_CONTROL;
+
+            String etag = EventImageService.etagOf(file);
+            long lastModified = file.getUploadDate().getTime();
+            long length = file.getLength();
+
+            if (isNotModified(requestHeaders, etag, lastModified)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                        .eTag(etag)
+                        .lastModified(lastModified)
+                        .cacheControl(cacheControl)
+                        .build();
+            }
+
+            long start = 0;
+            long count = length;
+            HttpRange range = requestedRange(requestHeaders, etag, lastModified);
+            if (range != null) {
+                start = range.getRangeStart(length);
+                long end = range.getRangeEnd(length);
+                if (start >= length || end < start) {
+                    return ResponseEntity.status(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE)
+                            .header(HttpHeaders.CONTENT_RANGE, "bytes */" + length)
+                            .build();
+                }
+                count = end - start + 1;
+            }
+
+            ResponseEntity.BodyBuilder response = ResponseEntity.status(range != null ? HttpStatus.PARTIAL_CONTENT : HttpStatus.OK)
+                    .contentType(MediaType.parseMediaType(EventImageService.contentTypeOf(file)))
+                    .contentLength(count)
+                    .header(HttpHeaders.ACCEPT_RANGES, "bytes")
+                    .eTag(etag)
+                    .lastModified(lastModified)
+                    .cacheControl(cacheControl);
+            if (range != null) {
+                response.header(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + (start + count - 1) + "/" + length);
+            }
+
+            // 💽 On local disk: let Tomcat send the file itself (sendfile / transferTo, no copy through the heap)
+            // Tomcat opens the path after we return; ImageDiskCache keeps evicted files around long enough for that
+            Path onDisk = eventImageService.sendfilePath(file);
+            if (onDisk != null && Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))) {
+                request.setAttribute(SENDFILE_FILENAME, onDisk.toAbsolutePath().toString());
+                request.setAttribute(SENDFILE_START, start);
+                request.setAttribute(SENDFILE_END, start + count);
+                return response.build();
             }
 
-            String contentType = eventImageService.getImageContentType(id);
-            return ResponseEntity.ok()
-                    .contentType(MediaType.parseMediaType(contentType))
-                    .body(imageBytes);
+            long from = start;
+            long bytes = count;
+            StreamingResponseBody body = out -> {
+                try {
+                    eventImageService.writeImage(file, from, bytes, out);
+                } catch (IOException | RuntimeException e) {
+                    // Runs after the headers went out: log it here, the client only sees a cut-off body
+                    System.out.println("❌ Error streaming image " + id + ": " + e.getMessage());
+                    throw e;
+                }
+            };
+            return response.body(body);
         } catch (Exception e) {
+            // GridFS lookup, Range or sendfile setup failed — the cause stays in the log
+            System.out.println("❌ Error serving image " + id + ": " + e.getMessage());
+            e.printStackTrace();
             return ResponseEntity.status(500).build();
         }
     }
 
+    // If-None-Match wins over If-Modified-Since (RFC 9110 §13.2.2); Last-Modified has 1s resolution
+    private static boolean isNotModified(HttpHeaders requestHeaders, String etag, long lastModified) {
+        List<String> ifNoneMatch = requestHeaders.get(HttpHeaders.IF_NONE_MATCH);
+        if (ifNoneMatch != null && !ifNoneMatch.isEmpty()) {
+            for (String header : ifNoneMatch) {
+                for (String candidate : header.split(",")) {
+                    String tag = candidate.trim();
+                    if (tag.startsWith("W/")) {
+                        tag = tag.substring(2);
+                    }
+                    if (tag.equals("*") || tag.equals(etag)) {
+                        return true;
+                    }
+                }
+            }
+            return false;
+        }
+
+        long ifModifiedSince = requestHeaders.getIfModifiedSince();
+        return ifModifiedSince >= 0 && lastModified / 1000 <= ifModifiedSince / 1000;
+    }
+
+    // A single, valid byte range (null → send the whole file), honouring If-Range
+    private static HttpRange requestedRange(HttpHeaders requestHeaders, String etag, long lastModified) {
+        List<HttpRange> ranges;
+        try {
+            ranges = requestHeaders.getRange();
+        } catch (IllegalArgumentException e) {
+            return null;   // malformed Range header is ignored
+        }
+        if (ranges.size() != 1) {
+            return null;   // no range, or multipart/byteranges — not worth it for images
+        }
+
+        String ifRange = requestHeaders.getFirst(HttpHeaders.IF_RANGE);
+        if (ifRange != null) {
+            if (ifRange.startsWith("\"") || ifRange.startsWith("W/")) {
+                if (!ifRange.equals(etag)) {
+                    return null;
+                }
+            } else {
+                try {
+                    if (requestHeaders.getFirstDate(HttpHeaders.IF_RANGE) / 1000 != lastModified / 1000) {
+                        return null;
+                    }
+                } catch (IllegalArgumentException e) {
+                    return null;
+                }
+            }
+        }
+        return ranges.get(0);
+    }
+
 
     // 🔐 PROTECTED: Create event (only ADMIN or OFFICER)
     @PostMapping("/create")
-    @CacheEvict(value = {"eventsCache", "eventByIdCache"}, allEntries = true)
     public ResponseEntity<?> createEvent(@RequestBody EventModel event, @RequestHeader("Authorization") String authHeader) {
         try {
             if (authHeader == null || !authHeader.startsWith("Bearer ")) {
@@ -132,8 +323,9 @@ public class EventController {
     }
 
 
+    // 🎯 Only this event's detail changes (attendanceCount); feed cards don't show the count
     @PostMapping("/{eventId}/addAttendance")
-    @CacheEvict(value = {"eventsCache", "eventByIdCache"}, allEntries = true)
+    @CacheEvict(value = "eventByIdCache", key = "#eventId")
     public ResponseEntity<?> addAttendance(
             @PathVariable String eventId,
             @RequestBody EventAttendance attendance,
@@ -146,8 +338,8 @@ public class EventController {
             // 🧹 Remove "Bearer " prefix
             String token = authHeader.substring(7).trim();
 
-            EventModel event = eventService.addEventAttendance(eventId, attendance, token);
-            return ResponseEntity.ok(event);
+            AttendanceScanResult result = eventService.addEventAttendance(eventId, attendance, token);
+            return ResponseEntity.ok(result);
         } catch (Exception e) {
             e.printStackTrace();
             return ResponseEntity.status(400).body("❌ " + e.getMessage());
@@ -157,7 +349,6 @@ public class EventController {
 
     // 🔐 PROTECTED: Add event evaluation (STUDENT, OFFICER, ADMIN)
     @PostMapping("/{eventId}/addEvaluation")
-    @CacheEvict(value = {"eventsCache", "eventByIdCache"}, allEntries = true)
     public ResponseEntity<?> addEvaluation(
             @PathVariable String eventId,
             @RequestBody EventEvaluationDetails eventEvaluationDetails,
@@ -168,13 +359,13 @@ public class EventController {
             }
 
             String token = authHeader.substring(7).trim();
-            String role = jwtService.getRoleFromToken(token);
+            JwtPrincipal principal = jwtService.resolvePrincipal(token);
 
-            if (role == null || role.isEmpty()) {
+            if (principal == null || principal.getRole() == null || principal.getRole().isEmpty()) {
                 return ResponseEntity.status(403).body("❌ Role not found in token");
             }
 
-            EventModel updated = eventService.addEventEvaluation(eventId, eventEvaluationDetails, role);
+            EventModel updated = eventService.addEventEvaluation(eventId, eventEvaluationDetails, principal);
 
             if (updated == null) {
                 return ResponseEntity.status(404).body("❌ Event not found");
@@ -187,6 +378,13 @@ public class EventController {
                     "eventTitle", updated.getEventTitle()
             ));
 
+        } catch (DuplicateKeyException e) {
+            // Same student, same event — rejected by the unique index
+            return ResponseEntity.status(409).body(Map.of(
+                    "status", "warning",
+                    "message", "⚠️ Evaluation already submitted for this event"
+            ));
+
         } catch (IllegalStateException e) {
             // For cases like "already evaluated"
             return ResponseEntity.badRequest().body(Map.of(
@@ -211,14 +409,12 @@ public class EventController {
         }
     }
 
+    // A new upload gets a new GridFS id, so only the event detail is stale
     @PostMapping(
             value = "/{eventId}/upload-image",
             consumes = MediaType.MULTIPART_FORM_DATA_VALUE
     )
-    @CacheEvict(
-            value = {"eventsCache", "eventByIdCache", "eventImageCache"},
-            allEntries = true
-    )
+    @CacheEvict(value = "eventByIdCache", key = "#eventId")
     public ResponseEntity<?> uploadEventImage(
             @PathVariable String eventId,
             @RequestParam("file") MultipartFile file,
@@ -228,13 +424,139 @@ public class EventController {
             EventModel updatedEvent = eventService.uploadEventImage(eventId, file, token);
             return ResponseEntity.ok(updatedEvent);
         } catch (Exception e) {
-            e.printStackTrace();
-            return ResponseEntity.status(500).body("❌ Error: " + e.getMessage());
+            return imageUploadError(e);
+        }
+    }
+
+    // 🔐 PROTECTED: Upload an event image as the raw request body (ADMIN or OFFICER).
+    // Streamed into GridFS while it arrives — nothing is spooled to memory or disk first.
+    // Optional X-File-Name header keeps the original file name.
+    @PutMapping(
+            value = "/{eventId}/image",
+            consumes = {"image/*", MediaType.APPLICATION_OCTET_STREAM_VALUE}
+    )
+    @CacheEvict(value = "eventByIdCache", key = "#eventId")
+    public ResponseEntity<?> streamEventImage(
+            @PathVariable String eventId,
+            @RequestHeader("Authorization") String token,
+            @RequestHeader(value = "X-File-Name", required = false) String filename,
+            HttpServletRequest request
+    ) {
+        // Declared too large: refuse before reading a byte
+        if (request.getContentLengthLong() > eventImageService.getMaxUploadBytes()) {
+            return ResponseEntity.status(HttpStatus.PAYLOAD_TOO_LARGE)
+                    .body("❌ Image is larger than " + eventImageService.getMaxUploadBytes() + " bytes");
+        }
+
+        try {
+            EventModel updatedEvent = eventService.uploadEventImage(eventId, request.getInputStream(), filename, token);
+            return ResponseEntity.ok(updatedEvent);
+        } catch (Exception e) {
+            return imageUploadError(e);
+        }
+    }
+
+    private static ResponseEntity<?> imageUploadError(Exception e) {
+        Throwable cause = e instanceof RuntimeException && e.getCause() != null ? e.getCause() : e;
+        if (cause instanceof MaxUploadSizeExceededException tooLarge) {
+            return ResponseEntity.status(HttpStatus.PAYLOAD_TOO_LARGE)
+                    .body("❌ Image is larger than " + tooLarge.getMaxUploadSize() + " bytes");
+        }
+        if (cause instanceof IllegalArgumentException) {
+            return ResponseEntity.status(HttpStatus.UNSUPPORTED_MEDIA_TYPE).body(cause.getMessage());
+        }
+        e.printStackTrace();
+        return ResponseEntity.status(500).body("❌ Error: " + e.getMessage());
+    }
+
+    // 🔐 PROTECTED: Evaluation dashboard totals (OFFICER or ADMIN)
+    @GetMapping("/{eventId}/evaluations/summary")
+    public ResponseEntity<?> getEvaluationSummary(
+            @PathVariable String eventId,
+            @RequestHeader("Authorization") String authHeader) {
+        try {
+            EventEvaluationSummaryModel summary = eventEvaluationService.getSummary(eventId, authHeader);
+            return ResponseEntity.ok(summary);
+        } catch (RuntimeException e) {
+            return ResponseEntity.status(403).body(e.getMessage());
         }
     }
 
+    // 🔐 PROTECTED: Recompute an event's evaluation totals from its submissions (ADMIN)
+    @PostMapping("/{eventId}/evaluations/rebuild")
+    public ResponseEntity<?> rebuildEvaluationSummary(
+            @PathVariable String eventId,
+            @RequestHeader("Authorization") String authHeader) {
+        try {
+            EventEvaluationSummaryModel summary = eventEvaluationService.repairRollups(eventId, authHeader);
+            return ResponseEntity.ok(summary);
+        } catch (RuntimeException e) {
+            return ResponseEntity.status(403).body(e.getMessage());
+        }
+    }
+
+    // 🔐 PROTECTED: Page through an event's evaluation submissions (OFFICER or ADMIN)
+    @GetMapping("/{eventId}/evaluations")
+    public ResponseEntity<?> getEvaluations(
+            @PathVariable String eventId,
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "100") int limit,
+            @RequestHeader("Authorization") String authHeader) {
+        try {
+            CursorPage<EventEvaluationModel> page = eventEvaluationService.getEvaluations(eventId, after, limit, authHeader);
+            return ResponseEntity.ok(page);
+        } catch (RuntimeException e) {
+            return ResponseEntity.status(403).body(e.getMessage());
+        }
+    }
+
+    // 🔐 PROTECTED: Page through an event's attendance (OFFICER or ADMIN)
+    @GetMapping("/{eventId}/attendances")
+    public ResponseEntity<?> getEventAttendances(
+            @PathVariable String eventId,
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "100") int limit,
+            @RequestHeader("Authorization") String authHeader) {
+        try {
+            if (authHeader == null || !authHeader.startsWith("Bearer ")) {
+                return ResponseEntity.status(401).body("❌ Missing or invalid token");
+            }
+
+            String token = authHeader.substring(7).trim();
+            CursorPage<EventAttendanceModel> page = eventService.getEventAttendances(eventId, after, limit, token);
+            return ResponseEntity.ok(page);
+
+        } catch (RuntimeException e) {
+            return ResponseEntity.status(403).body(e.getMessage());
+        }
+    }
+
+    // 🔐 PROTECTED: Attendance count for an event (OFFICER or ADMIN)
+    @GetMapping("/{eventId}/attendances/count")
+    public ResponseEntity<?> countEventAttendances(
+            @PathVariable String eventId,
+            @RequestHeader("Authorization") String authHeader) {
+        try {
+            if (authHeader == null || !authHeader.startsWith("Bearer ")) {
+                return ResponseEntity.status(401).body("❌ Missing or invalid token");
+            }
+
+            String token = authHeader.substring(7).trim();
+            Map<String, Object> body = new HashMap<>();
+            body.put("eventId", eventId);
+            body.put("count", eventService.countEventAttendances(eventId, token));
+            return ResponseEntity.ok(body);
+
+        } catch (RuntimeException e) {
+            return ResponseEntity.status(403).body(e.getMessage());
+        }
+    }
+
+    // 🔐 PROTECTED: Bulk attendance upload (OFFICER or ADMIN)
+    // Same text response as before ("Attendance uploaded successfully. ..."); the per-row counts
+    // follow the prefix where the event used to be printed
     @PostMapping("/{eventId}/addMultipleAttendance")
-    @CacheEvict(value = {"eventsCache", "eventByIdCache"}, allEntries = true)
+    @CacheEvict(value = "eventByIdCache", key = "#eventId")
     public ResponseEntity<?> addMultipleStudentsInEvent(
             @PathVariable String eventId,
             @RequestBody List<EventAttendance> eventAttendances,
@@ -248,14 +570,13 @@ public class EventController {
 
             String token = authHeader.substring(7).trim();
 
-            EventModel updatedEvent = eventService.addMultipleStudentsInEvent(
+            AttendanceUploadResult result = eventService.addMultipleStudentsInEvent(
                     eventId,
                     token,
                     eventAttendances
             );
 
-
-            return ResponseEntity.ok("Attendance uploaded successfully. "+updatedEvent );
+            return ResponseEntity.ok("Attendance uploaded successfully. " + result);
 
         } catch (Exception e) {
             e.printStackTrace();
@@ -272,7 +593,7 @@ public class EventController {
 
     // 🔐 PROTECTED: Update event (only ADMIN or OFFICER)
     @PutMapping("/{id}")
-    @CacheEvict(value = {"eventsCache", "eventByIdCache"}, allEntries = true)
+    @CacheEvict(value = "eventByIdCache", key = "#id")
     public ResponseEntity<?> updateEvent(
             @PathVariable String id,
             @RequestBody EventModel newEvent,
@@ -301,7 +622,7 @@ public class EventController {
 
     // ✅ PATCH: Update "allStudentAttending" publicly (STUDENT / OFFICER / ADMIN)
     @PatchMapping("/updateAllStudentAttending/{eventId}")
-    @CacheEvict(value = {"eventsCache", "eventByIdCache"}, allEntries = true)
+    @CacheEvict(value = "eventByIdCache", key = "#eventId")
     public ResponseEntity<?> updateAllStudentAttending(
             @PathVariable String eventId,
             @RequestParam int newCount,
@@ -314,13 +635,15 @@ public class EventController {
 
             String token = authHeader.substring(7).trim();
 
-            if (!jwtService.validateToken(token)) {
+            // 🪪 Reuse the claims already verified by JwtAuthenticationFilter
+            JwtPrincipal principal = jwtService.resolvePrincipal(token);
+            if (principal == null) {
                 return ResponseEntity.status(401).body("❌ Invalid or expired token");
             }
 
             // ✅ Anyone (STUDENT / OFFICER / ADMIN) can access this endpoint
-            String role = jwtService.getRoleFromToken(token);
-            String requester = jwtService.getUsernameFromToken(token);
+            String role = principal.getRole();
+            String requester = principal.getSubject();
 
             EventModel updated = eventService.updateAllStudentAttending(eventId, newCount, requester, role);
 
@@ -333,7 +656,7 @@ public class EventController {
 
     // 🔐 PROTECTED: Delete event (only ADMIN)
     @DeleteMapping("/{id}")
-    @CacheEvict(value = {"eventsCache", "eventByIdCache"}, allEntries = true)
+    @CacheEvict(value = "eventByIdCache", key = "#id")
     public ResponseEntity<?> deleteEvent(
             @PathVariable String id,
             @RequestHeader("Authorization") String authHeader) {
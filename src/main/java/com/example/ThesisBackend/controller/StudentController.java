@@ -4,11 +4,13 @@ import com.example.ThesisBackend.Model.EventModel;
 import com.example.ThesisBackend.Model.StudentModel;
 import com.example.ThesisBackend.eventUtils.EventEvaluationDetails;
 import com.example.ThesisBackend.security.JWTService;
+import com.example.ThesisBackend.security.JwtPrincipal;
 import com.example.ThesisBackend.service.EventService;
 import com.example.ThesisBackend.service.StudentService;
 import com.example.ThesisBackend.studentUtils.*;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DuplicateKeyException;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -45,11 +47,12 @@ public class StudentController {
         }
 
         String token = authHeader.substring(7);
-        if (!jwtService.validateToken(token)) {
+        JwtPrincipal principal = jwtService.resolvePrincipal(token);
+        if (principal == null) {
             return ResponseEntity.status(401).body("❌ Invalid or expired token");
         }
 
-        String studentNumberFromToken = jwtService.getUsernameFromToken(token);
+        String studentNumberFromToken = principal.getSubject();
         Optional<StudentModel> studentOpt = studentService.getStudentById(id);
 
         if (studentOpt.isEmpty()) {
@@ -337,23 +340,29 @@ public class StudentController {
         }
 
         String token = authHeader.substring(7);
-        if (!jwtService.validateToken(token)) {
+        JwtPrincipal principal = jwtService.resolvePrincipal(token);
+        if (principal == null) {
             return ResponseEntity.status(401).body(Map.of("error", "❌ Invalid or expired token"));
         }
 
-        String role = jwtService.getRoleFromToken(token);
-        if (!List.of("STUDENT", "OFFICER", "ADMIN").contains(role.toUpperCase())) {
+        String role = principal.getRole();
+        if (role == null || !List.of("STUDENT", "OFFICER", "ADMIN").contains(role.toUpperCase())) {
             return ResponseEntity.status(403).body(Map.of(
                     "error", "🚫 Unauthorized: Only student/officer/admin can add evaluations"
             ));
         }
 
         try {
-            EventModel updatedEvent = eventService.addEventEvaluation(eventId, evaluation, role);
+            EventModel updatedEvent = eventService.addEventEvaluation(eventId, evaluation, principal);
+            if (updatedEvent == null) {
+                return ResponseEntity.status(404).body(Map.of("error", "❌ Event not found"));
+            }
             return ResponseEntity.ok(Map.of(
                     "message", "✅ Evaluation added successfully by " + role,
                     "updatedEvent", updatedEvent
             ));
+        } catch (DuplicateKeyException e) {
+            return ResponseEntity.status(409).body(Map.of("error", "⚠️ Evaluation already submitted for this event"));
         } catch (RuntimeException e) {
             return ResponseEntity.badRequest().body(Map.of("error", "⚠️ " + e.getMessage()));
         }
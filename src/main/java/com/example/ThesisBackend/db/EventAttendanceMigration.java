@@ -0,0 +1,137 @@
+package com.example.ThesisBackend.db;
+
+import com.example.ThesisBackend.Model.EventAttendanceModel;
+import com.example.ThesisBackend.Model.EventModel;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * 🚚 Moves embedded {@code eventData.eventAttendances} arrays into the eventAttendance collection.
+ *  - creates the (eventId, studentId) unique index and the (eventId, _id) paging index
+ *  - streams only events that still carry the array, one event at a time
+ *  - inserts unordered (duplicates from an interrupted earlier run are ignored), then $unsets
+ *    the array and sets attendanceCount from the collection
+ * Safe to re-run; a no-op once every event has been migrated.
+ */
+@Component
+@Order(10)
+public class EventAttendanceMigration implements CommandLineRunner {
+
+    // Mongo duplicate key error
+    private static final int DUPLICATE_KEY = 11000;
+
+    private final MongoTemplate mongoTemplate;
+    private final MongoConnectionChecker mongoConnectionChecker;
+
+    public EventAttendanceMigration(MongoTemplate mongoTemplate, MongoConnectionChecker mongoConnectionChecker) {
+        this.mongoTemplate = mongoTemplate;
+        this.mongoConnectionChecker = mongoConnectionChecker;
+    }
+
+    @Override
+    public void run(String... args) {
+        if (!mongoConnectionChecker.isConnected()) {
+            System.out.println("⏭️ Skipping attendance migration: MongoDB not connected");
+            return;
+        }
+
+        try {
+            ensureIndexes();
+            migrateEmbeddedAttendances();
+        } catch (Exception e) {
+            System.out.println("❌ Attendance migration failed: " + e.getMessage());
+        }
+    }
+
+    private void ensureIndexes() {
+        IndexOperations indexOps = mongoTemplate.indexOps(EventAttendanceModel.class);
+        indexOps.ensureIndex(new Index()
+                .on("eventId", Sort.Direction.ASC)
+                .on("studentId", Sort.Direction.ASC)
+                .unique()
+                .named("eventId_studentId"));
+        indexOps.ensureIndex(new Index()
+                .on("eventId", Sort.Direction.ASC)
+                .on("_id", Sort.Direction.ASC)
+                .named("eventId_id"));
+    }
+
+    private void migrateEmbeddedAttendances() {
+        String eventCollection = mongoTemplate.getCollectionName(EventModel.class);
+
+        Query query = new Query(Criteria.where("eventAttendances").exists(true));
+        query.fields().include("eventAttendances");
+
+        int events = 0;
+        int moved = 0;
+        int skipped = 0;
+
+        try (Stream<Document> stream = mongoTemplate.stream(query, Document.class, eventCollection)) {
+            for (Document event : (Iterable<Document>) stream::iterator) {
+                Object rawId = event.get("_id");
+                String eventId = String.valueOf(rawId);
+
+                List<EventAttendanceModel> records = new ArrayList<>();
+                List<Document> rows = event.getList("eventAttendances", Document.class, List.of());
+                for (Document row : rows) {
+                    if (row == null || row.getString("studentId") == null) {
+                        skipped++;
+                        continue;
+                    }
+                    EventAttendanceModel record = mongoTemplate.getConverter().read(EventAttendanceModel.class, row);
+                    record.setId(new ObjectId().toHexString());
+                    record.setEventId(eventId);
+                    records.add(record);
+                }
+
+                moved += insertIgnoringDuplicates(records);
+
+                long count = mongoTemplate.count(
+                        new Query(Criteria.where("eventId").is(eventId)), EventAttendanceModel.class);
+                mongoTemplate.updateFirst(
+                        new Query(Criteria.where("_id").is(rawId)),
+                        new Update().unset("eventAttendances").set("attendanceCount", (int) count),
+                        eventCollection);
+                events++;
+            }
+        }
+
+        if (events > 0) {
+            System.out.println("✅ Moved " + moved + " attendances out of " + events + " events"
+                    + (skipped > 0 ? " (" + skipped + " rows without studentId dropped)" : ""));
+        }
+    }
+
+    private int insertIgnoringDuplicates(List<EventAttendanceModel> records) {
+        if (records.isEmpty()) {
+            return 0;
+        }
+        try {
+            BulkOperations ops = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, EventAttendanceModel.class);
+            ops.insert(new ArrayList<>(records));
+            return ops.execute().getInsertedCount();
+        } catch (BulkOperationException e) {
+            boolean onlyDuplicates = e.getErrors().stream().allMatch(error -> error.getCode() == DUPLICATE_KEY);
+            if (!onlyDuplicates) {
+                throw e;
+            }
+            return e.getResult().getInsertedCount();
+        }
+    }
+}
@@ -0,0 +1,207 @@
+package com.example.ThesisBackend.db;
+
+import com.example.ThesisBackend.Model.EvaluationQuestionStatsModel;
+import com.example.ThesisBackend.Model.EventAttendanceModel;
+import com.example.ThesisBackend.Model.EventEvaluationModel;
+import com.example.ThesisBackend.Model.EventModel;
+import com.example.ThesisBackend.Model.StudentModel;
+import com.example.ThesisBackend.service.EventEvaluationService;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.core.annotation.Order;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.index.PartialIndexFilter;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * 🚚 Moves embedded {@code eventData.eventEvaluationDetails} into the eventEvaluation collection
+ * and builds the running totals for every migrated event.
+ *  - creates the (eventId, _id) listing index, the partial (eventId, studentId) unique index
+ *    and the (eventId, question) unique stats index
+ *  - per event: replaces earlier migrated rows (submittedAt == null), rebuilds the totals,
+ *    then $unsets the embedded list
+ *  - backfills studentId on migrated rows: the old list only kept studentName, which is matched
+ *    against the students collection (narrowed by attendance when several students share a name).
+ *    Rows that can't be resolved to one student stay without studentId and are caught by the
+ *    name check in EventEvaluationService.rejectIfAlreadyEvaluated.
+ * Safe to re-run; a no-op once every event has been migrated and every row resolved.
+ */
+@Component
+@Order(20)
+public class EventEvaluationMigration implements CommandLineRunner {
+
+    private final MongoTemplate mongoTemplate;
+    private final MongoConnectionChecker mongoConnectionChecker;
+    private final EventEvaluationService eventEvaluationService;
+
+    public EventEvaluationMigration(MongoTemplate mongoTemplate,
+                                    MongoConnectionChecker mongoConnectionChecker,
+                                    EventEvaluationService eventEvaluationService) {
+        this.mongoTemplate = mongoTemplate;
+        this.mongoConnectionChecker = mongoConnectionChecker;
+        this.eventEvaluationService = eventEvaluationService;
+    }
+
+    @Override
+    public void run(String... args) {
+        if (!mongoConnectionChecker.isConnected()) {
+            System.out.println("⏭️ Skipping evaluation migration: MongoDB not connected");
+            return;
+        }
+
+        try {
+            ensureIndexes();
+            migrateEmbeddedEvaluations();
+            backfillStudentIds();
+        } catch (Exception e) {
+            System.out.println("❌ Evaluation migration failed: " + e.getMessage());
+        }
+    }
+
+    private void ensureIndexes() {
+        mongoTemplate.indexOps(EventEvaluationModel.class).ensureIndex(new Index()
+                .on("eventId", Sort.Direction.ASC)
+                .on("_id", Sort.Direction.ASC)
+                .named("eventId_id"));
+        // Partial: migrated submissions that couldn't be linked have no studentId and must not collide
+        mongoTemplate.indexOps(EventEvaluationModel.class).ensureIndex(new Index()
+                .on("eventId", Sort.Direction.ASC)
+                .on("studentId", Sort.Direction.ASC)
+                .unique()
+                .partial(PartialIndexFilter.of(Criteria.where("studentId").exists(true)))
+                .named("eventId_studentId"));
+        mongoTemplate.indexOps(EvaluationQuestionStatsModel.class).ensureIndex(new Index()
+                .on("eventId", Sort.Direction.ASC)
+                .on("question", Sort.Direction.ASC)
+                .unique()
+                .named("eventId_question"));
+    }
+
+    private void migrateEmbeddedEvaluations() {
+        String eventCollection = mongoTemplate.getCollectionName(EventModel.class);
+
+        Query query = new Query(Criteria.where("eventEvaluationDetails").exists(true));
+        query.fields().include("eventEvaluationDetails");
+
+        int events = 0;
+        int moved = 0;
+
+        try (Stream<Document> stream = mongoTemplate.stream(query, Document.class, eventCollection)) {
+            for (Document event : (Iterable<Document>) stream::iterator) {
+                Object rawId = event.get("_id");
+                String eventId = String.valueOf(rawId);
+
+                // Rows left by an interrupted earlier run
+                mongoTemplate.remove(new Query(Criteria.where("eventId").is(eventId)
+                        .and("submittedAt").is(null)), EventEvaluationModel.class);
+
+                List<EventEvaluationModel> submissions = new ArrayList<>();
+                for (Document row : event.getList("eventEvaluationDetails", Document.class, List.of())) {
+                    if (row == null) {
+                        continue;
+                    }
+                    EventEvaluationModel submission = mongoTemplate.getConverter().read(EventEvaluationModel.class, row);
+                    submission.setId(new ObjectId().toHexString());
+                    submission.setEventId(eventId);
+                    submission.setSubmittedAt(null);
+                    submissions.add(submission);
+                }
+                if (!submissions.isEmpty()) {
+                    mongoTemplate.insertAll(submissions);
+                }
+
+                eventEvaluationService.rebuildRollups(eventId);
+
+                mongoTemplate.updateFirst(
+                        new Query(Criteria.where("_id").is(rawId)),
+                        new Update().unset("eventEvaluationDetails"),
+                        eventCollection);
+
+                moved += submissions.size();
+                events++;
+            }
+        }
+
+        if (events > 0) {
+            System.out.println("✅ Moved " + moved + " evaluations out of " + events + " events");
+        }
+    }
+
+    private void backfillStudentIds() {
+        Query legacy = new Query(Criteria.where("studentId").exists(false).and("studentName").ne(null));
+        legacy.fields().include("eventId").include("studentName");
+
+        List<EventEvaluationModel> rows = mongoTemplate.find(legacy, EventEvaluationModel.class);
+        if (rows.isEmpty()) {
+            return;
+        }
+
+        // Every student by normalized name, read once (projection: name only)
+        Query students = new Query(Criteria.where("studentName").ne(null));
+        students.fields().include("studentName");
+        Map<String, List<String>> idsByName = new HashMap<>();
+        for (StudentModel student : mongoTemplate.find(students, StudentModel.class)) {
+            idsByName.computeIfAbsent(normalizeName(student.getStudentName()), name -> new ArrayList<>())
+                    .add(student.getId());
+        }
+
+        int resolved = 0;
+        for (EventEvaluationModel row : rows) {
+            String name = normalizeName(row.getStudentName());
+            if (name.isEmpty()) {
+                continue;
+            }
+            String studentId = resolveStudent(row.getEventId(), idsByName.get(name));
+            if (studentId == null) {
+                continue;
+            }
+            try {
+                mongoTemplate.updateFirst(
+                        new Query(Criteria.where("_id").is(row.getId())),
+                        new Update().set("studentId", studentId),
+                        EventEvaluationModel.class);
+                resolved++;
+            } catch (DuplicateKeyException e) {
+                // That student already has a submission for the event; the legacy row stays name-only
+            }
+        }
+
+        System.out.println("🔗 Linked " + resolved + " of " + rows.size() + " migrated evaluations to a student");
+    }
+
+    // The only student with that name, or the only one of them who attended the event; otherwise null
+    private String resolveStudent(String eventId, List<String> candidates) {
+        if (candidates == null || candidates.isEmpty()) {
+            return null;
+        }
+        if (candidates.size() == 1) {
+            return candidates.get(0);
+        }
+
+        List<String> attended = candidates.stream()
+                .filter(id -> mongoTemplate.exists(
+                        new Query(Criteria.where("eventId").is(eventId).and("studentId").is(id)),
+                        EventAttendanceModel.class))
+                .collect(Collectors.toList());
+        return attended.size() == 1 ? attended.get(0) : null;
+    }
+
+    private static String normalizeName(String name) {
+        return name == null ? "" : name.trim().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+    }
+}
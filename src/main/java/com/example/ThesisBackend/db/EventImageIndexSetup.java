@@ -0,0 +1,43 @@
+package com.example.ThesisBackend.db;
+
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.stereotype.Component;
+
+/**
+ * 🗂️ Index on GridFS fs.files behind the resized poster lookup in EventImageService:
+ * ?size=card finds the variant stored for an image by (metadata.variantOf, metadata.variant).
+ * Runs before the image warm-up, which looks variants up the same way. ensureIndex is a no-op when present.
+ */
+@Component
+@Order(7)
+public class EventImageIndexSetup implements CommandLineRunner {
+
+    private final MongoTemplate mongoTemplate;
+    private final MongoConnectionChecker mongoConnectionChecker;
+
+    public EventImageIndexSetup(MongoTemplate mongoTemplate, MongoConnectionChecker mongoConnectionChecker) {
+        this.mongoTemplate = mongoTemplate;
+        this.mongoConnectionChecker = mongoConnectionChecker;
+    }
+
+    @Override
+    public void run(String... args) {
+        if (!mongoConnectionChecker.isConnected()) {
+            System.out.println("⏭️ Skipping event image index setup: MongoDB not connected");
+            return;
+        }
+
+        try {
+            mongoTemplate.indexOps("fs.files").ensureIndex(new Index()
+                    .on("metadata.variantOf", Sort.Direction.ASC)
+                    .on("metadata.variant", Sort.Direction.ASC)
+                    .named("variantOf_variant"));
+        } catch (Exception e) {
+            System.out.println("❌ Event image index setup failed: " + e.getMessage());
+        }
+    }
+}
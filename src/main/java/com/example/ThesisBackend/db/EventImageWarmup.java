@@ -0,0 +1,93 @@
+package com.example.ThesisBackend.db;
+
+import com.example.ThesisBackend.Model.EventModel;
+import com.example.ThesisBackend.service.EventImageService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * 🔥 Pre-loads the image caches with the posters of ongoing and upcoming events, so the first
+ * wave of feed loads after a deploy doesn't send every poster request to GridFS at once.
+ * Runs after the schedule backfill (it needs eventEnd) and before the app reports ready.
+ * Bounded by events.image.warmup.maxEvents and by maxBytes of heap-cached images; larger
+ * posters are copied to the disk tier in the background instead.
+ */
+@Component
+@Order(40)
+public class EventImageWarmup implements CommandLineRunner {
+
+    private final MongoTemplate mongoTemplate;
+    private final MongoConnectionChecker mongoConnectionChecker;
+    private final EventImageService eventImageService;
+    private final int maxEvents;
+    private final long maxBytes;
+
+    public EventImageWarmup(MongoTemplate mongoTemplate,
+                            MongoConnectionChecker mongoConnectionChecker,
+                            EventImageService eventImageService,
+                            @Value("${events.image.warmup.maxEvents:100}") int maxEvents,
+                            @Value("${events.image.warmup.maxBytes:33554432}") long maxBytes) {
+        this.mongoTemplate = mongoTemplate;
+        this.mongoConnectionChecker = mongoConnectionChecker;
+        this.eventImageService = eventImageService;
+        this.maxEvents = maxEvents;
+        this.maxBytes = maxBytes;
+    }
+
+    @Override
+    public void run(String... args) {
+        if (!mongoConnectionChecker.isConnected()) {
+            System.out.println("⏭️ Skipping image cache warm-up: MongoDB not connected");
+            return;
+        }
+        if (maxEvents <= 0) {
+            return;
+        }
+
+        long started = System.currentTimeMillis();
+
+        // Not ended yet, soonest to end first — a range scan on the (eventEnd, eventStart) index
+        Query query = new Query(Criteria.where("eventEnd").gt(Instant.now())
+                .and("eventImageId").nin(null, ""))
+                .with(Sort.by(Sort.Direction.ASC, "eventEnd"))
+                .limit(maxEvents);
+        query.fields().include("eventImageId");
+
+        Set<String> imageIds = new LinkedHashSet<>();
+        try {
+            for (EventModel event : mongoTemplate.find(query, EventModel.class)) {
+                imageIds.add(event.getEventImageId());
+            }
+        } catch (Exception e) {
+            System.out.println("⚠️ Image cache warm-up skipped: " + e.getMessage());
+            return;
+        }
+
+        int warmed = 0;
+        long bytes = 0;
+        for (String imageId : imageIds) {
+            if (bytes >= maxBytes) {
+                break;
+            }
+            try {
+                bytes += eventImageService.warmImage(imageId);
+                warmed++;
+            } catch (Exception e) {
+                System.out.println("⚠️ Could not warm image " + imageId + ": " + e.getMessage());
+            }
+        }
+
+        System.out.println("🔥 Image cache warm-up: " + warmed + " of " + imageIds.size() + " posters, "
+                + bytes + " bytes in memory (" + (System.currentTimeMillis() - started) + " ms)");
+    }
+}
@@ -0,0 +1,62 @@
+package com.example.ThesisBackend.db;
+
+import com.example.ThesisBackend.Model.EventModel;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.stereotype.Component;
+
+/**
+ * 🗂️ Indexes on eventData behind the paged event feed and the upcoming / ongoing queries.
+ * The feed sorts on (eventStart desc, _id desc); each filter gets its own prefix so a
+ * filtered page is still a single index range scan. ensureIndex is a no-op when present.
+ */
+@Component
+@Order(5)
+public class EventIndexSetup implements CommandLineRunner {
+
+    private final MongoTemplate mongoTemplate;
+    private final MongoConnectionChecker mongoConnectionChecker;
+
+    public EventIndexSetup(MongoTemplate mongoTemplate, MongoConnectionChecker mongoConnectionChecker) {
+        this.mongoTemplate = mongoTemplate;
+        this.mongoConnectionChecker = mongoConnectionChecker;
+    }
+
+    @Override
+    public void run(String... args) {
+        if (!mongoConnectionChecker.isConnected()) {
+            System.out.println("⏭️ Skipping event index setup: MongoDB not connected");
+            return;
+        }
+
+        try {
+            IndexOperations indexOps = mongoTemplate.indexOps(EventModel.class);
+            // Feed, and upcoming (eventStart > now, soonest first — the same index scanned backwards)
+            indexOps.ensureIndex(new Index()
+                    .on("eventStart", Sort.Direction.DESC)
+                    .on("_id", Sort.Direction.DESC)
+                    .named("eventStart_id"));
+            indexOps.ensureIndex(new Index()
+                    .on("eventCategory", Sort.Direction.ASC)
+                    .on("eventStart", Sort.Direction.DESC)
+                    .on("_id", Sort.Direction.DESC)
+                    .named("eventCategory_eventStart_id"));
+            indexOps.ensureIndex(new Index()
+                    .on("eventLocation", Sort.Direction.ASC)
+                    .on("eventStart", Sort.Direction.DESC)
+                    .on("_id", Sort.Direction.DESC)
+                    .named("eventLocation_eventStart_id"));
+            // Ongoing: eventEnd > now (only events not over yet), then eventStart <= now
+            indexOps.ensureIndex(new Index()
+                    .on("eventEnd", Sort.Direction.ASC)
+                    .on("eventStart", Sort.Direction.ASC)
+                    .named("eventEnd_eventStart"));
+        } catch (Exception e) {
+            System.out.println("❌ Event index setup failed: " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package com.example.ThesisBackend.db;
+
+import com.example.ThesisBackend.Model.EventModel;
+import com.example.ThesisBackend.eventUtils.EventTimes;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.stream.Stream;
+
+/**
+ * 🕒 Backfills eventStart / eventEnd on events created before the fields existed.
+ * Only events without an eventStart field are read; unreadable dates are stored as null
+ * so they aren't retried on every startup. A no-op once everything is filled in.
+ */
+@Component
+@Order(30)
+public class EventScheduleBackfill implements CommandLineRunner {
+
+    private static final int BATCH_SIZE = 500;
+
+    private final MongoTemplate mongoTemplate;
+    private final MongoConnectionChecker mongoConnectionChecker;
+    private final ZoneId eventZone;
+
+    public EventScheduleBackfill(MongoTemplate mongoTemplate,
+                                 MongoConnectionChecker mongoConnectionChecker,
+                                 @Value("${events.timeZone:Asia/Manila}") String eventTimeZone) {
+        this.mongoTemplate = mongoTemplate;
+        this.mongoConnectionChecker = mongoConnectionChecker;
+        this.eventZone = ZoneId.of(eventTimeZone);
+    }
+
+    @Override
+    public void run(String... args) {
+        if (!mongoConnectionChecker.isConnected()) {
+            System.out.println("⏭️ Skipping event schedule backfill: MongoDB not connected");
+            return;
+        }
+
+        Query query = new Query(Criteria.where("eventStart").exists(false));
+        query.fields()
+                .include("eventDate")
+                .include("eventTime")
+                .include("eventTimeLength");
+
+        int updated = 0;
+        int unreadable = 0;
+
+        try (Stream<EventModel> events = mongoTemplate.stream(query, EventModel.class)) {
+            BulkOperations ops = null;
+            int queued = 0;
+
+            for (EventModel event : (Iterable<EventModel>) events::iterator) {
+                Instant start = EventTimes.parseStart(event.getEventDate(), event.getEventTime(), eventZone);
+                Instant end = EventTimes.parseEnd(start, event.getEventTimeLength(), eventZone);
+                if (start == null) {
+                    unreadable++;
+                }
+
+                if (ops == null) {
+                    ops = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, EventModel.class);
+                }
+                ops.updateOne(
+                        new Query(Criteria.where("_id").is(event.getId())),
+                        new Update().set("eventStart", start).set("eventEnd", end));
+                queued++;
+                updated++;
+
+                if (queued == BATCH_SIZE) {
+                    ops.execute();
+                    ops = null;
+                    queued = 0;
+                }
+            }
+            if (ops != null) {
+                ops.execute();
+            }
+        } catch (Exception e) {
+            System.out.println("❌ Event schedule backfill failed: " + e.getMessage());
+            return;
+        }
+
+        if (updated > 0) {
+            System.out.println("✅ Backfilled eventStart / eventEnd on " + updated + " events"
+                    + (unreadable > 0 ? " (" + unreadable + " with unreadable dates)" : ""));
+        }
+    }
+}
@@ -4,14 +4,23 @@ package com.example.ThesisBackend.db;
 import com.mongodb.client.MongoClient;
 import com.mongodb.client.MongoDatabase;
 import org.springframework.boot.CommandLineRunner;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
 import org.springframework.stereotype.Component;
 import org.bson.Document;
 
+/**
+ * Pings MongoDB once at startup. Runs before the other startup runners, which
+ * check {@link #isConnected()} and skip their database work when the ping failed.
+ */
 @Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
 public class MongoConnectionChecker implements CommandLineRunner {
 
     private final MongoClient mongoClient;
 
+    private volatile boolean connected;
+
     public MongoConnectionChecker(MongoClient mongoClient) {
         this.mongoClient = mongoClient;
     }
@@ -21,9 +30,14 @@ public class MongoConnectionChecker implements CommandLineRunner {
         try {
             MongoDatabase database = mongoClient.getDatabase("thesisBackEnd");
             database.runCommand(new Document("ping", 1));
+            connected = true;
             System.out.println("✅ Connected to MongoDB: " + database.getName());
         } catch (Exception e) {
             System.out.println("❌ MongoDB connection failed: " + e.getMessage());
         }
     }
+
+    public boolean isConnected() {
+        return connected;
+    }
 }
@@ -0,0 +1,75 @@
+package com.example.ThesisBackend.db;
+
+import com.example.ThesisBackend.Model.StudentModel;
+import org.bson.Document;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 🗂️ Unique index on studentData.studentNumber.
+ * auto-index-creation is off, so the {@code @Indexed(unique = true)} on StudentModel is never
+ * applied by Spring Data; StudentImportService relies on this index to turn a concurrent
+ * insert of the same student number into a duplicate key error. ensureIndex is a no-op when present.
+ * If existing data already has duplicates the index can't be built: they are logged so they
+ * can be cleaned up, and the next startup tries again.
+ */
+@Component
+@Order(6)
+public class StudentIndexSetup implements CommandLineRunner {
+
+    private static final int MAX_REPORTED_DUPLICATES = 10;
+
+    private final MongoTemplate mongoTemplate;
+    private final MongoConnectionChecker mongoConnectionChecker;
+
+    public StudentIndexSetup(MongoTemplate mongoTemplate, MongoConnectionChecker mongoConnectionChecker) {
+        this.mongoTemplate = mongoTemplate;
+        this.mongoConnectionChecker = mongoConnectionChecker;
+    }
+
+    @Override
+    public void run(String... args) {
+        if (!mongoConnectionChecker.isConnected()) {
+            System.out.println("⏭️ Skipping student index setup: MongoDB not connected");
+            return;
+        }
+
+        try {
+            mongoTemplate.indexOps(StudentModel.class).ensureIndex(new Index()
+                    .on("studentNumber", Sort.Direction.ASC)
+                    .unique()
+                    .named("studentNumber"));
+        } catch (Exception e) {
+            System.out.println("❌ Student index setup failed: " + e.getMessage());
+            List<String> duplicates = findDuplicateStudentNumbers();
+            if (!duplicates.isEmpty()) {
+                System.out.println("⚠️ Duplicate student numbers (first " + duplicates.size() + "): " + duplicates);
+            }
+        }
+    }
+
+    private List<String> findDuplicateStudentNumbers() {
+        List<String> duplicates = new ArrayList<>();
+        try {
+            Aggregation aggregation = Aggregation.newAggregation(
+                    Aggregation.group("studentNumber").count().as("count"),
+                    Aggregation.match(Criteria.where("count").gt(1)),
+                    Aggregation.limit(MAX_REPORTED_DUPLICATES));
+            for (Document group : mongoTemplate.aggregate(aggregation, StudentModel.class, Document.class)) {
+                duplicates.add(String.valueOf(group.get("_id")));
+            }
+        } catch (Exception e) {
+            System.out.println("⚠️ Could not list duplicate student numbers: " + e.getMessage());
+        }
+        return duplicates;
+    }
+}
@@ -0,0 +1,55 @@
+package com.example.ThesisBackend.eventUtils;
+
+/**
+ * 📷 Result of a single attendance scan.
+ * {@code recorded} is false when the student was already on the event (re-scan).
+ */
+public class AttendanceScanResult {
+
+    private String eventId;
+    private String studentId;
+    private boolean recorded;
+    private int attendanceCount;
+
+    public AttendanceScanResult() {
+    }
+
+    public AttendanceScanResult(String eventId, String studentId, boolean recorded, int attendanceCount) {
+        this.eventId = eventId;
+        this.studentId = studentId;
+        this.recorded = recorded;
+        this.attendanceCount = attendanceCount;
+    }
+
+    public String getEventId() {
+        return eventId;
+    }
+
+    public void setEventId(String eventId) {
+        this.eventId = eventId;
+    }
+
+    public String getStudentId() {
+        return studentId;
+    }
+
+    public void setStudentId(String studentId) {
+        this.studentId = studentId;
+    }
+
+    public boolean isRecorded() {
+        return recorded;
+    }
+
+    public void setRecorded(boolean recorded) {
+        this.recorded = recorded;
+    }
+
+    public int getAttendanceCount() {
+        return attendanceCount;
+    }
+
+    public void setAttendanceCount(int attendanceCount) {
+        this.attendanceCount = attendanceCount;
+    }
+}
@@ -0,0 +1,78 @@
+package com.example.ThesisBackend.eventUtils;
+
+/**
+ * 📊 Outcome of a bulk attendance upload (offline scanner sync).
+ * Every uploaded row lands in exactly one counter.
+ */
+public class AttendanceUploadResult {
+
+    private String eventId;
+    private int received;
+    private int added;
+    private int alreadyRecorded;    // already on the event, or repeated in the same upload
+    private int unknownStudents;    // studentId not found
+    private int invalid;            // missing studentId / studentNumber / studentName
+
+    public AttendanceUploadResult() {
+    }
+
+    public AttendanceUploadResult(String eventId, int received) {
+        this.eventId = eventId;
+        this.received = received;
+    }
+
+    public String getEventId() {
+        return eventId;
+    }
+
+    public void setEventId(String eventId) {
+        this.eventId = eventId;
+    }
+
+    public int getReceived() {
+        return received;
+    }
+
+    public void setReceived(int received) {
+        this.received = received;
+    }
+
+    public int getAdded() {
+        return added;
+    }
+
+    public void setAdded(int added) {
+        this.added = added;
+    }
+
+    public int getAlreadyRecorded() {
+        return alreadyRecorded;
+    }
+
+    public void setAlreadyRecorded(int alreadyRecorded) {
+        this.alreadyRecorded = alreadyRecorded;
+    }
+
+    public int getUnknownStudents() {
+        return unknownStudents;
+    }
+
+    public void setUnknownStudents(int unknownStudents) {
+        this.unknownStudents = unknownStudents;
+    }
+
+    public int getInvalid() {
+        return invalid;
+    }
+
+    public void setInvalid(int invalid) {
+        this.invalid = invalid;
+    }
+
+    @Override
+    public String toString() {
+        return "AttendanceUploadResult{eventId=" + eventId + ", received=" + received + ", added=" + added
+                + ", alreadyRecorded=" + alreadyRecorded + ", unknownStudents=" + unknownStudents
+                + ", invalid=" + invalid + "}";
+    }
+}
@@ -4,6 +4,7 @@ import java.util.List;
 
 public class EventEvaluationDetails {
 
+    private String studentId;
     private String studentName;
     private double studentAverageRate;
     private String studentSuggestion;
@@ -21,6 +22,14 @@ public class EventEvaluationDetails {
         this.studentEvaluationInfos = studentEvaluationInfos;
     }
 
+    public String getStudentId() {
+        return studentId;
+    }
+
+    public void setStudentId(String studentId) {
+        this.studentId = studentId;
+    }
+
     public String getCourse() {
         return course;
     }
@@ -0,0 +1,103 @@
+package com.example.ThesisBackend.eventUtils;
+
+import java.time.Instant;
+
+/**
+ * 🗂️ EventSummary - Card fields for the event feed (GET /api/events).
+ * Built from a field projection, so the feed never reads agendas, questions or the event body.
+ * Full details stay on GET /api/events/{id}.
+ */
+public class EventSummary {
+
+    private String id;
+    private String eventTitle;
+    private String eventShortDescription;
+    private String eventDate;
+    private Instant eventStart;
+    private Instant eventEnd;
+    private String eventLocation;
+    private String eventCategory;
+    private int allStudentAttending;
+    private String eventImageUrl;
+
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public String getEventTitle() {
+        return eventTitle;
+    }
+
+    public void setEventTitle(String eventTitle) {
+        this.eventTitle = eventTitle;
+    }
+
+    public String getEventShortDescription() {
+        return eventShortDescription;
+    }
+
+    public void setEventShortDescription(String eventShortDescription) {
+        this.eventShortDescription = eventShortDescription;
+    }
+
+    public String getEventDate() {
+        return eventDate;
+    }
+
+    public void setEventDate(String eventDate) {
+        this.eventDate = eventDate;
+    }
+
+    public Instant getEventStart() {
+        return eventStart;
+    }
+
+    public void setEventStart(Instant eventStart) {
+        this.eventStart = eventStart;
+    }
+
+    public Instant getEventEnd() {
+        return eventEnd;
+    }
+
+    public void setEventEnd(Instant eventEnd) {
+        this.eventEnd = eventEnd;
+    }
+
+    public String getEventLocation() {
+        return eventLocation;
+    }
+
+    public void setEventLocation(String eventLocation) {
+        this.eventLocation = eventLocation;
+    }
+
+    public String getEventCategory() {
+        return eventCategory;
+    }
+
+    public void setEventCategory(String eventCategory) {
+        this.eventCategory = eventCategory;
+    }
+
+    public int getAllStudentAttending() {
+        return allStudentAttending;
+    }
+
+    public void setAllStudentAttending(int allStudentAttending) {
+        this.allStudentAttending = allStudentAttending;
+    }
+
+    public String getEventImageUrl() {
+        return eventImageUrl;
+    }
+
+    public void setEventImageUrl(String eventImageUrl) {
+        this.eventImageUrl = eventImageUrl;
+    }
+}
@@ -0,0 +1,181 @@
+package com.example.ThesisBackend.eventUtils;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeFormatterBuilder;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 🕒 Turns the free-form eventDate / eventTime / eventTimeLength strings into an
+ * [eventStart, eventEnd) pair of Instants.
+ *  - date: 2025-10-20, 2025-10-20T08:00:00Z, 10/20/2025, October 20, 2025, Oct 20, 2025
+ *  - time: 14:00, 2:00 PM, 2PM (missing → start of the day)
+ *  - length: 2 hours, 1h 30m, 90 minutes, 1.5 hrs, 1:30, 2 (hours)
+ * When the length can't be read the event is taken to run until the end of its day.
+ */
+public final class EventTimes {
+
+    private static final List<DateTimeFormatter> DATE_FORMATS = List.of(
+            DateTimeFormatter.ISO_LOCAL_DATE,
+            formatter("M/d/uuuu"),
+            formatter("MMMM d, uuuu"),
+            formatter("MMM d, uuuu"),
+            formatter("MMMM d uuuu"),
+            formatter("MMM d uuuu")
+    );
+
+    private static final List<DateTimeFormatter> TIME_FORMATS = List.of(
+            formatter("H:mm"),
+            formatter("H:mm:ss"),
+            formatter("h:mm a"),
+            formatter("h:mma"),
+            formatter("h a"),
+            formatter("ha")
+    );
+
+    private static final Pattern LENGTH_PART = Pattern.compile(
+            "(\\d+(?:\\.\\d+)?)\\s*(hours?|hrs?|h|minutes?|mins?|m)");
+    private static final Pattern CLOCK_LENGTH = Pattern.compile("(\\d+):(\\d{2})");
+    private static final Pattern PLAIN_NUMBER = Pattern.compile("\\d+(?:\\.\\d+)?");
+
+    private EventTimes() {
+    }
+
+    /**
+     * Start instant, or null when the date can't be read.
+     */
+    public static Instant parseStart(String eventDate, String eventTime, ZoneId zone) {
+        if (eventDate == null || eventDate.isBlank()) {
+            return null;
+        }
+        String date = eventDate.trim();
+
+        // Full timestamp (e.g. a JS toISOString()) — its own time wins unless eventTime is given
+        try {
+            OffsetDateTime timestamp = OffsetDateTime.parse(date);
+            LocalTime time = parseTime(eventTime);
+            if (time == null) {
+                return timestamp.toInstant();
+            }
+            return timestamp.atZoneSameInstant(zone).toLocalDate().atTime(time).atZone(zone).toInstant();
+        } catch (DateTimeParseException ignored) {
+            // not a timestamp
+        }
+
+        LocalDate day = parseDate(date.length() > 10 && date.charAt(10) == 'T' ? date.substring(0, 10) : date);
+        if (day == null) {
+            return null;
+        }
+
+        LocalTime time = parseTime(eventTime);
+        return (time != null ? day.atTime(time) : day.atStartOfDay()).atZone(zone).toInstant();
+    }
+
+    /**
+     * End instant for an event starting at {@code start}, or null when start is null.
+     */
+    public static Instant parseEnd(Instant start, String eventTimeLength, ZoneId zone) {
+        if (start == null) {
+            return null;
+        }
+        Duration length = parseLength(eventTimeLength);
+        if (length != null && !length.isZero()) {
+            return start.plus(length);
+        }
+        // Unknown length: until the end of the event's day
+        return start.atZone(zone).toLocalDate().plusDays(1).atStartOfDay(zone).toInstant();
+    }
+
+    /**
+     * Lower bound of a date filter (inclusive): a date means its first moment, a timestamp is
+     * taken as is. Null when the value can't be read.
+     */
+    public static Instant parseRangeFrom(String value, ZoneId zone) {
+        return parseStart(value, null, zone);
+    }
+
+    /**
+     * Upper bound of a date filter (exclusive): a date includes that whole day, a timestamp
+     * includes its own millisecond. Null when the value can't be read.
+     */
+    public static Instant parseRangeUntil(String value, ZoneId zone) {
+        Instant start = parseStart(value, null, zone);
+        if (start == null) {
+            return null;
+        }
+        try {
+            OffsetDateTime.parse(value.trim());
+            return start.plusMillis(1);
+        } catch (DateTimeParseException e) {
+            return parseEnd(start, null, zone);
+        }
+    }
+
+    static LocalDate parseDate(String value) {
+        for (DateTimeFormatter format : DATE_FORMATS) {
+            try {
+                return LocalDate.parse(value, format);
+            } catch (DateTimeParseException ignored) {
+                // try the next format
+            }
+        }
+        return null;
+    }
+
+    static LocalTime parseTime(String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        String time = value.trim().toUpperCase(Locale.ROOT).replace(".", "");
+        for (DateTimeFormatter format : TIME_FORMATS) {
+            try {
+                return LocalTime.parse(time, format);
+            } catch (DateTimeParseException ignored) {
+                // try the next format
+            }
+        }
+        return null;
+    }
+
+    static Duration parseLength(String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        String length = value.trim().toLowerCase(Locale.ROOT);
+
+        if (PLAIN_NUMBER.matcher(length).matches()) {
+            return Duration.ofMinutes(Math.round(Double.parseDouble(length) * 60));
+        }
+
+        Matcher clock = CLOCK_LENGTH.matcher(length);
+        if (clock.matches()) {
+            return Duration.ofHours(Long.parseLong(clock.group(1))).plusMinutes(Long.parseLong(clock.group(2)));
+        }
+
+        double minutes = 0;
+        boolean found = false;
+        Matcher parts = LENGTH_PART.matcher(length);
+        while (parts.find()) {
+            double amount = Double.parseDouble(parts.group(1));
+            minutes += parts.group(2).startsWith("h") ? amount * 60 : amount;
+            found = true;
+        }
+        return found ? Duration.ofMinutes(Math.round(minutes)) : null;
+    }
+
+    private static DateTimeFormatter formatter(String pattern) {
+        return new DateTimeFormatterBuilder()
+                .parseCaseInsensitive()
+                .appendPattern(pattern)
+                .toFormatter(Locale.ENGLISH);
+    }
+}
@@ -0,0 +1,13 @@
+package com.example.ThesisBackend.repository;
+
+import com.example.ThesisBackend.Model.EventAttendanceModel;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface EventAttendanceRepository extends MongoRepository<EventAttendanceModel, String> {
+
+    long countByEventId(String eventId);
+
+    void deleteByEventId(String eventId);
+}
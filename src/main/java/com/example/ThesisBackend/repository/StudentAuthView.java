@@ -0,0 +1,22 @@
+package com.example.ThesisBackend.repository;
+
+import com.example.ThesisBackend.studentUtils.OfficerCredentials;
+
+import java.time.Instant;
+
+/**
+ * 🪶 Slim projection of studentData used for auth / revocation checks.
+ * Only these fields are read from MongoDB — none of the embedded event lists.
+ */
+public interface StudentAuthView {
+
+    String getId();
+
+    String getStudentNumber();
+
+    String getRole();
+
+    OfficerCredentials getOfficerCredentials();
+
+    Instant getCredentialsChangedAt();
+}
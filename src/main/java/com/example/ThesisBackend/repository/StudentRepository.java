@@ -9,4 +9,8 @@ import java.util.Optional;
 @Repository
 public interface StudentRepository extends MongoRepository<StudentModel, String> {
     Optional<StudentModel> findByStudentNumber(String studentNumber);
+
+    Optional<StudentAuthView> findAuthViewByStudentNumber(String studentNumber);
+
+    Optional<StudentAuthView> findAuthViewById(String id);
 }
@@ -1,97 +1,322 @@
 package com.example.ThesisBackend.security;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
-import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.LocatorAdapter;
+import io.jsonwebtoken.ProtectedHeader;
+import io.jsonwebtoken.io.Encoders;
 import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 
 import javax.crypto.SecretKey;
 import java.nio.charset.StandardCharsets;
+import java.security.Key;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
 import java.util.Date;
+import java.util.HexFormat;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
 
 @Service
-public class JWTService {
+public class JWTService implements MeterBinder {
 
-    @Value("${jwt.secret}")
-    private String jwtSecret;
+    private final long jwtExpirationMs;
 
-    @Value("${jwt.expirationMs}")
-    private long jwtExpirationMs;
+    // 🕒 Issues, checks and expires tokens; fixed to the system clock outside of tests
+    private final Clock clock;
+
+    // 🔑 Key used for new tokens (jwt.secret)
+    private final SigningKey signingKey;
+
+    // 🔑 jwt.secret plus jwt.previousSecrets, by kid — every key that may still verify an outstanding token
+    private final Map<String, SigningKey> verificationKeys;
+
+    // ♻️ Built once — JwtParser is immutable and thread-safe
+    private final JwtParser parser;
+
+    // ⚡ Already-verified tokens (keyed by SHA-256 of the token), each evicted at its own exp
+    private final Cache<String, JwtPrincipal> verifiedTokens;
+
+    // ⏱️ Full signature checks (cache misses), by outcome — registered in bindTo
+    private volatile Timer verifyValidTimer;
+    private volatile Timer verifyInvalidTimer;
 
     /**
-     * ✅ Use UTF-8 bytes directly — no Base64 decoding required
+     * Rotation is a configuration change, so every instance and every restart agrees on the keys:
+     * move the old jwt.secret into jwt.previousSecrets, set the new one, and redeploy.
+     * Tokens carry the kid (key fingerprint) they were signed with; a previous secret can be
+     * removed once jwt.expirationMs has passed since the rotation.
      */
-    private SecretKey getSigningKey() {
-        byte[] keyBytes = jwtSecret.getBytes(StandardCharsets.UTF_8);
-        return Keys.hmacShaKeyFor(keyBytes);
+    @Autowired
+    public JWTService(@Value("${jwt.secret}") String jwtSecret,
+                      @Value("${jwt.previousSecrets:}") String[] previousSecrets,
+                      @Value("${jwt.expirationMs}") long jwtExpirationMs,
+                      @Value("${jwt.verifiedCache.maximumSize:10000}") long verifiedCacheSize) {
+        this(jwtSecret, previousSecrets, jwtExpirationMs, verifiedCacheSize, Clock.systemUTC());
+    }
+
+    JWTService(String jwtSecret, String[] previousSecrets, long jwtExpirationMs, long verifiedCacheSize, Clock clock) {
+        this.jwtExpirationMs = jwtExpirationMs;
+        this.clock = clock;
+        this.verifiedTokens = Caffeine.newBuilder()
+                .maximumSize(verifiedCacheSize)
+                .expireAfter(new ExpireAtTokenExpiry(clock))
+                .ticker(() -> TimeUnit.MILLISECONDS.toNanos(clock.millis()))
+                .recordStats()
+                .build();
+        this.signingKey = SigningKey.fromSecret(jwtSecret);
+
+        Map<String, SigningKey> keys = new HashMap<>();
+        keys.put(signingKey.id, signingKey);
+        for (String previous : previousSecrets) {
+            if (previous != null && !previous.isBlank()) {
+                SigningKey key = SigningKey.fromSecret(previous.trim());
+                keys.putIfAbsent(key.id, key);
+            }
+        }
+        this.verificationKeys = Map.copyOf(keys);
+        System.out.println("🔑 JWT signing key " + signingKey.id + " (" + (verificationKeys.size() - 1)
+                + " previous keys accepted for verification)");
+
+        this.parser = Jwts.parser()
+                .clock(() -> Date.from(clock.instant()))
+                .keyLocator(new LocatorAdapter<Key>() {
+                    @Override
+                    protected Key locate(ProtectedHeader header) {
+                        // Tokens issued before kid headers existed were signed with jwt.secret
+                        String keyId = header.getKeyId() != null ? header.getKeyId() : signingKey.id;
+                        SigningKey key = verificationKeys.get(keyId);
+                        return key != null ? key.key : null;
+                    }
+                })
+                .build();
     }
 
     /**
      * ✅ Generate JWT token (HS384 algorithm)
      */
     public String generateToken(String username, String role) {
-        Date now = new Date();
+        Date now = Date.from(clock.instant());
         Date expiryDate = new Date(now.getTime() + jwtExpirationMs);
-
         return Jwts.builder()
+                .header()
+                .keyId(signingKey.id)
+                .and()
                 .claims()
                 .subject(username)
                 .issuedAt(now)
                 .expiration(expiryDate)
                 .add("role", role)
                 .and()
-                .signWith(getSigningKey(), SignatureAlgorithm.HS384) // ✅ ensure consistent algorithm
+                .signWith(signingKey.key, Jwts.SIG.HS384) // ✅ ensure consistent algorithm
                 .compact();
     }
 
     /**
-     * ✅ Validate JWT signature and expiration
+     * ✅ Typed claims for a token (null if invalid).
+     * Tokens seen before are answered from the verified-token cache without re-checking the signature.
      */
-    public boolean validateToken(String token) {
+    public JwtPrincipal parseToken(String token) {
+        if (token == null || token.isBlank()) {
+            return null;
+        }
+
+        String digest = digest(token);
+        JwtPrincipal cached = verifiedTokens.getIfPresent(digest);
+        if (cached != null) {
+            return cached;
+        }
+
+        JwtPrincipal principal = verifyToken(token);
+        if (principal != null && !principal.isExpired()) {
+            verifiedTokens.put(digest, principal);
+        }
+        return principal;
+    }
+
+    /**
+     * ✅ Full signature + expiration check, bypassing the cache
+     */
+    JwtPrincipal verifyToken(String token) {
+        long started = System.nanoTime();
         try {
-            Jwts.parser()
-                    .verifyWith(getSigningKey())
-                    .build()
-                    .parseSignedClaims(token);
-            return true;
+            Claims claims = parser.parseSignedClaims(token).getPayload();
+
+            Date issuedAt = claims.getIssuedAt();
+            Date expiration = claims.getExpiration();
+            JwtPrincipal principal = new JwtPrincipal(
+                    token,
+                    claims.getSubject(),
+                    claims.get("role", String.class),
+                    issuedAt != null ? issuedAt.toInstant() : null,
+                    expiration != null ? expiration.toInstant() : null
+            );
+            record(verifyValidTimer, started);
+            return principal;
         } catch (Exception e) {
+            record(verifyInvalidTimer, started);
             System.out.println("❌ Invalid JWT: " + e.getMessage());
-            return false;
+            return null;
         }
     }
 
     /**
-     * ✅ Extract username (subject)
+     * ✅ Principal of the current request, as published by JwtAuthenticationFilter
      */
-    public String getUsernameFromToken(String token) {
-        try {
-            return Jwts.parser()
-                    .verifyWith(getSigningKey())
-                    .build()
-                    .parseSignedClaims(token)
-                    .getPayload()
-                    .getSubject();
-        } catch (Exception e) {
-            System.out.println("❌ Invalid token: " + e.getMessage());
+    public JwtPrincipal currentPrincipal() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof JwtPrincipal principal) {
+            return principal;
+        }
+        return null;
+    }
+
+    /**
+     * ✅ Reuse the request's already-verified principal when it was built from this token,
+     * otherwise fall back to a full verification
+     */
+    public JwtPrincipal resolvePrincipal(String token) {
+        if (token == null || token.isBlank()) {
             return null;
         }
+
+        JwtPrincipal current = currentPrincipal();
+        if (current != null && current.isSameToken(token)) {
+            return current.isExpired() ? null : current;
+        }
+
+        return parseToken(token);
     }
 
     /**
-     * ✅ Extract user role
+     * ✅ Validate JWT signature and expiration
+     */
+    public boolean validateToken(String token) {
+        return resolvePrincipal(token) != null;
+    }
+
+    /**
+     * ✅ Extract username (subject)
+     */
+    public String getUsernameFromToken(String token) {
+        JwtPrincipal principal = resolvePrincipal(token);
+        return principal != null ? principal.getSubject() : null;
+    }
+
+    /**
+     * ✅ Extract user role (the request's own principal when the filter already verified this token)
      */
     public String getRoleFromToken(String token) {
+        JwtPrincipal principal = resolvePrincipal(token);
+        return principal != null ? principal.getRole() : null;
+    }
+
+    /**
+     * 📊 Hit / miss / eviction counters for the verified-token cache
+     */
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, verifiedTokens, "jwtVerifiedTokens");
+        verifyValidTimer = verifyTimer(registry, "valid");
+        verifyInvalidTimer = verifyTimer(registry, "invalid");
+    }
+
+    private static Timer verifyTimer(MeterRegistry registry, String outcome) {
+        return Timer.builder("jwt.verify")
+                .description("JWT signature + claims verification (verified-token cache misses)")
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .register(registry);
+    }
+
+    private static void record(Timer timer, long startedNanos) {
+        if (timer != null) {
+            timer.record(System.nanoTime() - startedNanos, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private static String digest(String token) {
         try {
-            return Jwts.parser()
-                    .verifyWith(getSigningKey())
-                    .build()
-                    .parseSignedClaims(token)
-                    .getPayload()
-                    .get("role", String.class);
-        } catch (Exception e) {
-            System.out.println("❌ Invalid token: " + e.getMessage());
-            return null;
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    /**
+     * ⏳ A cached token lives no longer than its own exp claim
+     */
+    private static final class ExpireAtTokenExpiry implements Expiry<String, JwtPrincipal> {
+        private final Clock clock;
+
+        private ExpireAtTokenExpiry(Clock clock) {
+            this.clock = clock;
+        }
+
+        @Override
+        public long expireAfterCreate(String key, JwtPrincipal principal, long currentTime) {
+            if (principal.getExpiresAt() == null) {
+                return Duration.ofMinutes(5).toNanos();
+            }
+            Duration remaining = Duration.between(clock.instant(), principal.getExpiresAt());
+            return Math.max(0, remaining.toNanos());
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, JwtPrincipal principal, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+
+        @Override
+        public long expireAfterRead(String key, JwtPrincipal principal, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+
+    /**
+     * 🔑 HMAC key derived once from a secret, identified by a short fingerprint (kid)
+     */
+    private static final class SigningKey {
+        private final String id;
+        private final SecretKey key;
+
+        private SigningKey(String id, SecretKey key) {
+            this.id = id;
+            this.key = key;
+        }
+
+        // ✅ Use UTF-8 bytes directly — no Base64 decoding required
+        static SigningKey fromSecret(String secret) {
+            byte[] keyBytes = secret.getBytes(StandardCharsets.UTF_8);
+            return new SigningKey(fingerprint(keyBytes), Keys.hmacShaKeyFor(keyBytes));
+        }
+
+        private static String fingerprint(byte[] keyBytes) {
+            try {
+                byte[] digest = MessageDigest.getInstance("SHA-256").digest(keyBytes);
+                return Encoders.BASE64URL.encode(Arrays.copyOf(digest, 8));
+            } catch (NoSuchAlgorithmException e) {
+                throw new IllegalStateException("SHA-256 not available", e);
+            }
         }
     }
 }
@@ -4,25 +4,34 @@ import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
+import com.example.ThesisBackend.repository.StudentAuthView;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Optional;
 
 @Component
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JWTService jwtService;
-    private final UserDetailsService userDetailsService;
+    private final StudentDetailsService studentDetailsService;
+    private final boolean revocationCheckEnabled;
 
-    public JwtAuthenticationFilter(JWTService jwtService, UserDetailsService userDetailsService) {
+    public JwtAuthenticationFilter(JWTService jwtService,
+                                   StudentDetailsService studentDetailsService,
+                                   @Value("${jwt.revocationCheck.enabled:true}") boolean revocationCheckEnabled) {
         this.jwtService = jwtService;
-        this.userDetailsService = userDetailsService;
+        this.studentDetailsService = studentDetailsService;
+        this.revocationCheckEnabled = revocationCheckEnabled;
     }
 
     @Override
@@ -31,7 +40,6 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
         final String authHeader = req.getHeader("Authorization");
         final String token;
-        final String username;
 
         // 🛑 If there’s no token, skip authentication
         if (authHeader == null || !authHeader.startsWith("Bearer ")) {
@@ -40,30 +48,69 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         }
 
         token = authHeader.substring(7); // Remove "Bearer "
-        username = jwtService.getUsernameFromToken(token);
 
         // 🧠 Only authenticate if not already set in context
-        if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-            UserDetails userDetails = this.userDetailsService.loadUserByUsername(username);
+        if (SecurityContextHolder.getContext().getAuthentication() == null) {
+
+            // ✅ Verify signature + expiration exactly once for this request
+            JwtPrincipal principal = jwtService.parseToken(token);
+
+            if (principal != null && principal.getSubject() != null && !isRevoked(principal)) {
+                // ✅ Principal comes straight from the verified claims — no studentData read
+                String role = principal.getRole() != null ? principal.getRole() : "STUDENT";
 
-            // ✅ Ensure token is valid for this specific user
-            if (jwtService.validateToken(token)) {
                 UsernamePasswordAuthenticationToken authToken =
                         new UsernamePasswordAuthenticationToken(
-                                userDetails,
+                                principal,
                                 null,
-                                userDetails.getAuthorities()
+                                List.of(new SimpleGrantedAuthority(role))
                         );
 
                 authToken.setDetails(
                         new WebAuthenticationDetailsSource().buildDetails(req)
                 );
 
-                // ✅ Set security context
+                // ✅ Set security context — JWTService.resolvePrincipal reads the verified claims from here
                 SecurityContextHolder.getContext().setAuthentication(authToken);
             }
         }
 
         chain.doFilter(req, res);
     }
+
+    /**
+     * 🚫 Optional revocation check against a short-TTL slim snapshot of the student:
+     * deleted students, tokens whose role no longer matches (promote / demote) and tokens issued
+     * before the student's last password / role / officer credential change are rejected.
+     * AdminService evicts the snapshot on those changes, so they apply on the next request.
+     */
+    private boolean isRevoked(JwtPrincipal principal) {
+        if (!revocationCheckEnabled) {
+            return false;
+        }
+
+        Optional<StudentAuthView> snapshot = studentDetailsService.findAuthSnapshot(principal.getSubject());
+        if (snapshot.isEmpty()) {
+            System.out.println("🚫 Token for unknown student: " + principal.getSubject());
+            return true;
+        }
+
+        String currentRole = snapshot.get().getRole();
+        if (currentRole != null && !currentRole.equalsIgnoreCase(principal.getRole())) {
+            System.out.println("🚫 Token role " + principal.getRole() + " no longer matches " + currentRole
+                    + " for student: " + principal.getSubject());
+            return true;
+        }
+
+        // iat has whole-second precision: a token from the same second as the change still passes
+        Instant changedAt = snapshot.get().getCredentialsChangedAt();
+        Instant issuedAt = principal.getIssuedAt() != null ? principal.getIssuedAt() : Instant.EPOCH;
+        if (changedAt != null && issuedAt.isBefore(changedAt.truncatedTo(ChronoUnit.SECONDS))) {
+            System.out.println("🚫 Token issued before the last credential change for student: "
+                    + principal.getSubject());
+            return true;
+        }
+
+        return false;
+    }
 }
@@ -0,0 +1,64 @@
+package com.example.ThesisBackend.security;
+
+import java.security.Principal;
+import java.time.Instant;
+
+/**
+ * 🪪 JwtPrincipal - the verified contents of one bearer token.
+ * Built once by {@link JwtAuthenticationFilter} and stored as the SecurityContext principal.
+ * Controllers and services reach it through JWTService (getRoleFromToken, resolvePrincipal, ...),
+ * which hands back this instance for the request's own token instead of re-verifying the signature.
+ */
+public class JwtPrincipal implements Principal {
+
+    private final String token;
+    private final String subject;
+    private final String role;
+    private final Instant issuedAt;
+    private final Instant expiresAt;
+
+    public JwtPrincipal(String token, String subject, String role, Instant issuedAt, Instant expiresAt) {
+        this.token = token;
+        this.subject = subject;
+        this.role = role;
+        this.issuedAt = issuedAt;
+        this.expiresAt = expiresAt;
+    }
+
+    /**
+     * ✅ True when this principal was built from exactly this raw token
+     */
+    public boolean isSameToken(String otherToken) {
+        return token.equals(otherToken);
+    }
+
+    public boolean isExpired() {
+        return expiresAt != null && expiresAt.isBefore(Instant.now());
+    }
+
+    @Override
+    public String getName() {
+        return subject;
+    }
+
+    public String getSubject() {
+        return subject;
+    }
+
+    public String getRole() {
+        return role;
+    }
+
+    public Instant getIssuedAt() {
+        return issuedAt;
+    }
+
+    public Instant getExpiresAt() {
+        return expiresAt;
+    }
+
+    @Override
+    public String toString() {
+        return "JwtPrincipal{subject='" + subject + "', role='" + role + "', expiresAt=" + expiresAt + "}";
+    }
+}
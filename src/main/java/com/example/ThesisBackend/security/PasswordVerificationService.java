@@ -0,0 +1,94 @@
+package com.example.ThesisBackend.security;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 🔐 PasswordVerificationService
+ * ----------------------------------------------------------
+ * Runs BCrypt checks for /api/auth/login on a small dedicated pool so that
+ * a login storm cannot occupy the Tomcat worker threads.
+ *  - Bounded queue: once it is full, {@link #matches} throws RejectedExecutionException
+ *    and the caller answers 503 straight away
+ *  - Metrics: auth.password.verify (hash latency), auth.password.queue.depth,
+ *    auth.password.active, auth.password.rejected
+ */
+@Service
+public class PasswordVerificationService {
+
+    private final PasswordEncoder passwordEncoder;
+    private final ThreadPoolExecutor executor;
+    private final Timer verifyTimer;
+    private final Counter rejectedCounter;
+
+    public PasswordVerificationService(PasswordEncoder passwordEncoder,
+                                       MeterRegistry meterRegistry,
+                                       @Value("${auth.bcrypt.threads:0}") int threads,
+                                       @Value("${auth.bcrypt.queueCapacity:64}") int queueCapacity) {
+        this.passwordEncoder = passwordEncoder;
+
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(
+                poolSize,
+                poolSize,
+                60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "bcrypt-verify-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy()
+        );
+
+        this.verifyTimer = Timer.builder("auth.password.verify")
+                .description("BCrypt password verification time")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.rejectedCounter = Counter.builder("auth.password.rejected")
+                .description("Logins rejected because the BCrypt queue was full")
+                .register(meterRegistry);
+        Gauge.builder("auth.password.queue.depth", executor, e -> e.getQueue().size())
+                .description("Password checks waiting for a BCrypt thread")
+                .register(meterRegistry);
+        Gauge.builder("auth.password.active", executor, ThreadPoolExecutor::getActiveCount)
+                .description("Password checks currently hashing")
+                .register(meterRegistry);
+    }
+
+    /**
+     * ✅ Check a raw password against its BCrypt hash off the request thread.
+     * @throws RejectedExecutionException when the pool and its queue are saturated
+     */
+    public CompletableFuture<Boolean> matches(String rawPassword, String encodedPassword) {
+        try {
+            return CompletableFuture.supplyAsync(
+                    () -> verifyTimer.record(() -> passwordEncoder.matches(rawPassword, encodedPassword)),
+                    executor
+            );
+        } catch (RejectedExecutionException e) {
+            rejectedCounter.increment();
+            System.out.println("⏳ BCrypt queue full (" + executor.getQueue().size() + " waiting), rejecting login");
+            throw e;
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+}
@@ -1,5 +1,7 @@
 package com.example.ThesisBackend.security;
 
+import jakarta.servlet.DispatcherType;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -20,9 +22,14 @@ public class SecurityConfig {
     private final JwtAuthenticationFilter jwtFilter;
     private final StudentDetailsService studentDetailsService;
 
-    public SecurityConfig(JwtAuthenticationFilter jwtFilter, StudentDetailsService studentDetailsService) {
+    // 📊 Actuator port (bound to localhost); -1 when actuator shares the app port
+    private final int managementPort;
+
+    public SecurityConfig(JwtAuthenticationFilter jwtFilter, StudentDetailsService studentDetailsService,
+                          @Value("${management.server.port:-1}") int managementPort) {
         this.jwtFilter = jwtFilter;
         this.studentDetailsService = studentDetailsService;
+        this.managementPort = managementPort;
     }
 
     // ✅ 1. Global CORS configuration
@@ -53,6 +60,10 @@ public class SecurityConfig {
                                 "/api/auth/registerOpen",
                                 "/api/auth/*/addEvaluation"
                         ).permitAll()
+                        // 📊 Scrapes on the local management port only — never through the public port
+                        .requestMatchers(request -> managementPort > 0 && request.getLocalPort() == managementPort).permitAll()
+                        // Streamed responses finish on an async dispatch of an already-authorized request
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
                         .anyRequest().authenticated()
                 )
                 .sessionManagement(sess -> sess.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
@@ -1,20 +1,39 @@
 package com.example.ThesisBackend.security;
 
 import com.example.ThesisBackend.Model.StudentModel;
+import com.example.ThesisBackend.repository.StudentAuthView;
 import com.example.ThesisBackend.repository.StudentRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.User;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
+import java.util.Optional;
+
 @Service
-public class StudentDetailsService implements UserDetailsService {
+public class StudentDetailsService implements UserDetailsService, MeterBinder {
 
     private final StudentRepository repo;
 
-    public StudentDetailsService(StudentRepository repo) {
+    // 🪶 Short-lived slim projections (studentNumber, role, officerCredentials, credentialsChangedAt) for revocation checks
+    private final Cache<String, Optional<StudentAuthView>> authSnapshots;
+
+    public StudentDetailsService(StudentRepository repo,
+                                 @Value("${jwt.revocationCheck.ttlSeconds:60}") long snapshotTtlSeconds) {
         this.repo = repo;
+        this.authSnapshots = Caffeine.newBuilder()
+                .maximumSize(10_000)
+                .expireAfterWrite(Duration.ofSeconds(snapshotTtlSeconds))
+                .recordStats()
+                .build();
     }
 
     @Override
@@ -29,4 +48,25 @@ public class StudentDetailsService implements UserDetailsService {
                 .authorities("STUDENT")
                 .build();
     }
+
+    /**
+     * ✅ Current role/credentials for a student number (empty if the student no longer exists)
+     */
+    public Optional<StudentAuthView> findAuthSnapshot(String studentNumber) {
+        return authSnapshots.get(studentNumber, repo::findAuthViewByStudentNumber);
+    }
+
+    /**
+     * 🧹 Drop the cached snapshot after role / credential / password changes
+     */
+    public void evict(String studentNumber) {
+        if (studentNumber != null) {
+            authSnapshots.invalidate(studentNumber);
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, authSnapshots, "studentAuthSnapshots");
+    }
 }
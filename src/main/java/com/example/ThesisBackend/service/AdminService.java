@@ -1,18 +1,30 @@
 package com.example.ThesisBackend.service;
 import org.springframework.dao.DuplicateKeyException;
 import com.example.ThesisBackend.Model.AdminModel;
+import com.example.ThesisBackend.Model.EventAttendanceModel;
 import com.example.ThesisBackend.Model.EventModel;
 import com.example.ThesisBackend.Model.StudentModel;
 import com.example.ThesisBackend.eventUtils.EventEvaluationDetails;
 import com.example.ThesisBackend.repository.AdminRepository;
 import com.example.ThesisBackend.repository.EventRepository;
+import com.example.ThesisBackend.repository.StudentAuthView;
 import com.example.ThesisBackend.repository.StudentRepository;
 import com.example.ThesisBackend.security.JWTService;
+import com.example.ThesisBackend.security.JwtPrincipal;
+import com.example.ThesisBackend.security.StudentDetailsService;
 import com.example.ThesisBackend.studentUtils.OfficerCredentials;
+import com.example.ThesisBackend.studentUtils.StudentImportJob;
+import com.example.ThesisBackend.studentUtils.StudentImportReport;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
 import  com.example.ThesisBackend.adminUtils.*;
+import java.io.IOException;
+import java.time.Instant;
 import java.util.*;
 
 /**
@@ -40,6 +52,21 @@ public class AdminService {
     @Autowired
     private PasswordEncoder passwordEncoder;
 
+    @Autowired
+    private StudentDetailsService studentDetailsService;
+
+    @Autowired
+    private StudentImportService studentImportService;
+
+    @Autowired
+    private StudentCsvImportService studentCsvImportService;
+
+    @Autowired
+    private EventEvaluationService eventEvaluationService;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
     //get ADMIN
     public Optional<AdminModel> getAdminById(String adminId, String token) {
         try {
@@ -145,42 +172,51 @@ public class AdminService {
             throw new RuntimeException("🚫 Unauthorized: Only ADMIN can access this endpoint");
         }
 
-        List<StudentModel> savedStudents = new ArrayList<>();
+        // ✅ Same set-based pipeline as the batch import; response keeps the saved students
+        return studentImportService.importBatch(students, 1, new HashSet<>(), new StudentImportReport());
+    }
 
-        for (StudentModel student : students) {
+    // bulk import with a per-row report
+    public StudentImportReport importStudents(List<StudentModel> students, String token) {
 
-            // Skip duplicates
-            if (studentRepository.findByStudentNumber(student.getStudentNumber()).isPresent()) {
-                System.out.println("⚠ Student already exists: " + student.getStudentNumber());
-                System.out.println("⚠ Student name: " + student.getStudentName());
+        String cleanToken = token;
 
-                continue;
-            }
+        if (cleanToken.startsWith("Bearer ")) {
+            cleanToken = cleanToken.substring(7).trim();
+        }
 
-            student.setRole("STUDENT");
+        String role = jwtService.getRoleFromToken(cleanToken);
 
-            if (student.getOfficerCredentials() == null) {
-                student.setOfficerCredentials(new OfficerCredentials());
-            }
+        if (!"ADMIN".equalsIgnoreCase(role)) {
+            throw new RuntimeException("🚫 Unauthorized: Only ADMIN can access this endpoint");
+        }
+
+        return studentImportService.importStudents(students);
+    }
 
-            student.getOfficerCredentials().setCanAddEvent(false);
-            student.getOfficerCredentials().setCanEditEvent(false);
-            student.getOfficerCredentials().setCanScanStudent(false);
-            student.getOfficerCredentials().setCanAddStudent(false);
+    // streaming CSV roster import (runs in the background)
+    public StudentImportJob startStudentCsvImport(MultipartFile file, String token) throws IOException {
+        requireAdmin(token);
+        return studentCsvImportService.startImport(file);
+    }
 
-            student.setStudentPassword(
-                    passwordEncoder.encode(student.getStudentPassword()));
-            student.setNotificationId("");
-            student.setStudentUpcomingEvents(new ArrayList<>());
-            student.setStudentEventAttended(new ArrayList<>());
-            student.setStudentRecentEvaluations(new ArrayList<>());
-            student.setStudentNotifications(new ArrayList<>());
-            student.setStudentEventAttendedAndEvaluationDetails(new ArrayList<>());
+    public Optional<StudentImportJob> getStudentImportJob(String jobId, String token) {
+        requireAdmin(token);
+        return studentCsvImportService.getJob(jobId);
+    }
+
+    private void requireAdmin(String token) {
+        String cleanToken = token;
 
-            savedStudents.add(studentRepository.save(student));
+        if (cleanToken != null && cleanToken.startsWith("Bearer ")) {
+            cleanToken = cleanToken.substring(7).trim();
         }
 
-        return savedStudents;
+        String role = jwtService.getRoleFromToken(cleanToken);
+
+        if (!"ADMIN".equalsIgnoreCase(role)) {
+            throw new RuntimeException("🚫 Unauthorized: Only ADMIN can access this endpoint");
+        }
     }
 
 
@@ -564,9 +600,12 @@ public class AdminService {
         credentials.setCanAddEvent(canAdd);
 
         student.setOfficerCredentials(credentials);
+        student.setCredentialsChangedAt(Instant.now());
 
         // ✅ Save changes
-        return studentRepository.save(student);
+        StudentModel saved = studentRepository.save(student);
+        studentDetailsService.evict(student.getStudentNumber());
+        return saved;
     }
 
     public StudentModel demoteOfficer(String studentId, String token) {
@@ -591,11 +630,14 @@ public class AdminService {
 
         // ✅ Promote role, but keep same encrypted password
         student.setRole("STUDENT");
+        student.setCredentialsChangedAt(Instant.now());
 
         System.out.println("Successfully demoted " + student.getStudentName());
 
         // ✅ Save changes
-        return studentRepository.save(student);
+        StudentModel saved = studentRepository.save(student);
+        studentDetailsService.evict(student.getStudentNumber());
+        return saved;
     }
 
     public void deleteStudent(String id, String token) {
@@ -608,7 +650,12 @@ public class AdminService {
             String adminRole = jwtService.getRoleFromToken(cleanToken);
 
             if ("ADMIN".equalsIgnoreCase(adminRole)) {
+                String studentNumber = studentRepository.findAuthViewById(id)
+                        .map(StudentAuthView::getStudentNumber)
+                        .orElse(null);
+
                 studentRepository.deleteById(id);
+                studentDetailsService.evict(studentNumber);
                 System.out.println("🗑️ Student deleted with ID: " + id);
             } else {
                 throw new RuntimeException("🚫 Unauthorized: ONLY admin can delete event");
@@ -625,7 +672,7 @@ public class AdminService {
 
         StudentModel currentDataStudent = studentRepository.findById(studentId)
                 .orElseThrow(() -> new RuntimeException("Student not found with id " + studentId));
-
+        String previousStudentNumber = currentDataStudent.getStudentNumber();
 
             String cleanToken = token;
             if (token != null && token.startsWith("Bearer ")) {
@@ -639,6 +686,9 @@ public class AdminService {
                 currentDataStudent.setCourse(updatedStudent.getCourse());
                 currentDataStudent.setDepartment(updatedStudent.getDepartment());
                 currentDataStudent.setNotificationId(updatedStudent.getNotificationId());
+                if (!sameCredentials(currentDataStudent.getOfficerCredentials(), updatedStudent.getOfficerCredentials())) {
+                    currentDataStudent.setCredentialsChangedAt(Instant.now());
+                }
                 currentDataStudent.setOfficerCredentials(updatedStudent.getOfficerCredentials());
                 currentDataStudent.setStudentUpcomingEvents(updatedStudent.getStudentUpcomingEvents());
                 currentDataStudent.setStudentNotifications(updatedStudent.getStudentNotifications());
@@ -654,29 +704,63 @@ public class AdminService {
                 throw new RuntimeException("🚫 Unauthorized: ONLY admin can update student");
             }
         System.out.println("🗑️ Student Updated with ID: " + studentId);
-        return  studentRepository.save(currentDataStudent);
+        StudentModel saved = studentRepository.save(currentDataStudent);
+        studentDetailsService.evict(previousStudentNumber);
+        studentDetailsService.evict(saved.getStudentNumber());
+        return saved;
     }
 
 
 //  public event evaluation (event id and user data )
+//  one per (eventId, studentId): DuplicateKeyException → 409, answered before the event is read
+//  Signed-in students always submit for themselves (OFFICER / ADMIN may name the student).
+//  Anonymous submissions are only taken for a student with a recorded attendance at the event,
+//  so a made-up studentId can't use up someone else's single evaluation.
 public EventModel addEventEvaluation(
         String eventId,
-        EventEvaluationDetails evaluation
+        EventEvaluationDetails evaluation,
+        JwtPrincipal principal
 ) {
     try {
-        Optional<EventModel> eventOpt = eventRepository.findById(eventId);
+        String role = principal != null ? principal.getRole() : null;
+        String studentId = evaluation.getStudentId();
+
+        if (principal != null && ("STUDENT".equalsIgnoreCase(role) || studentId == null || studentId.isBlank())) {
+            studentId = studentDetailsService.findAuthSnapshot(principal.getSubject())
+                    .map(StudentAuthView::getId)
+                    .orElseThrow(() -> new IllegalStateException("❌ Student not found"));
+        }
+
+        if (studentId == null || studentId.isBlank()) {
+            throw new IllegalStateException("❌ studentId is required");
+        }
 
-        if (eventOpt.isEmpty()) {
+        if (principal == null) {
+            Query attended = new Query(Criteria.where("eventId").is(eventId).and("studentId").is(studentId));
+            if (!mongoTemplate.exists(attended, EventAttendanceModel.class)) {
+                throw new RuntimeException("🚫 No attendance recorded for this student at this event.");
+            }
+        }
+
+        eventEvaluationService.rejectIfAlreadyEvaluated(eventId, studentId);
+
+        if (!studentRepository.existsById(studentId)) {
+            throw new IllegalStateException("❌ Student not found");
+        }
+
+        // Title only: the submission itself goes to the eventEvaluation collection
+        Query eventQuery = new Query(Criteria.where("_id").is(eventId));
+        eventQuery.fields().include("eventTitle");
+
+        EventModel event = mongoTemplate.findOne(eventQuery, EventModel.class);
+
+        if (event == null) {
             System.out.println("❌ Event not found with ID: " + eventId);
             return null;
         }
 
-        EventModel event = eventOpt.get();
-
         // ✅ ADD EVALUATION
-        event.getEventEvaluationDetails().add(evaluation);
-
-        eventRepository.save(event);
+        eventEvaluationService.recordEvaluation(eventId, studentId, evaluation);
 
         System.out.println("✅ Evaluation added by " + event.getEventTitle());
 
@@ -728,7 +812,9 @@ public EventModel addEventEvaluation(
             }
 
             student.setStudentPassword(passwordEncoder.encode(newPassword));
+            student.setCredentialsChangedAt(Instant.now());
             studentRepository.save(student);
+            studentDetailsService.evict(student.getStudentNumber());
 
             System.out.println("✅ Password reset successfully!");
             System.out.println("👤 Student: " + student.getStudentName());
@@ -744,5 +830,15 @@ public EventModel addEventEvaluation(
     }
 
 
+    private static boolean sameCredentials(OfficerCredentials a, OfficerCredentials b) {
+        if (a == null || b == null) {
+            return a == b;
+        }
+        return a.isCanEditEvent() == b.isCanEditEvent()
+                && a.isCanAddEvent() == b.isCanAddEvent()
+                && a.isCanAddStudent() == b.isCanAddStudent()
+                && a.isCanScanStudent() == b.isCanScanStudent();
+    }
+
 //end class
 }
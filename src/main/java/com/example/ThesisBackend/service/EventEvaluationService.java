@@ -0,0 +1,289 @@
+package com.example.ThesisBackend.service;
+
+import com.example.ThesisBackend.Model.EvaluationQuestionStatsModel;
+import com.example.ThesisBackend.Model.EventEvaluationModel;
+import com.example.ThesisBackend.Model.EventEvaluationSummaryModel;
+import com.example.ThesisBackend.Model.StudentModel;
+import com.example.ThesisBackend.eventUtils.CursorPage;
+import com.example.ThesisBackend.eventUtils.EventEvaluationDetails;
+import com.example.ThesisBackend.eventUtils.StudentEvaluationInfo;
+import com.example.ThesisBackend.security.JWTService;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.ArithmeticOperators;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * 📝 EventEvaluationService
+ * ----------------------------------------------------------
+ * Evaluation submissions live in their own collection (eventEvaluation).
+ * Each submission also $incs two kinds of running totals:
+ *  - eventEvaluationSummary: evaluation count + sum of studentAverageRate per event
+ *  - eventEvaluationQuestionStats: count, sum and sum of squares of studentRate per (event, question)
+ * so dashboards read O(questions) documents instead of scanning every submission.
+ * One submission per (eventId, studentId): the partial unique index rejects a second one with
+ * DuplicateKeyException, which the controllers answer with 409.
+ */
+@Service
+public class EventEvaluationService {
+
+    private static final int MAX_PAGE_SIZE = 500;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private JWTService jwtService;
+
+    /**
+     * ✅ Store a submission and fold it into the event's running totals.
+     * Totals are only touched once the insert went through.
+     * The insert and the $inc upserts are separate writes, not one transaction: if the totals fail
+     * after the insert, the submission is kept (the student is done) and the event's totals are
+     * short by one until an ADMIN runs rebuildRollups through POST /api/events/{eventId}/evaluations/rebuild.
+     * @throws DuplicateKeyException when this student already evaluated the event
+     */
+    public EventEvaluationModel recordEvaluation(String eventId, String studentId, EventEvaluationDetails evaluation) {
+        EventEvaluationModel submission = new EventEvaluationModel();
+        submission.setId(new ObjectId().toHexString());
+        submission.setEventId(eventId);
+        submission.setStudentId(studentId);
+        submission.setStudentName(evaluation.getStudentName());
+        submission.setCourse(evaluation.getCourse());
+        submission.setStudentAverageRate(evaluation.getStudentAverageRate());
+        submission.setStudentSuggestion(evaluation.getStudentSuggestion());
+        submission.setStudentEvaluationInfos(evaluation.getStudentEvaluationInfos());
+        submission.setSubmittedAt(Instant.now());
+
+        mongoTemplate.insert(submission);
+        try {
+            applyToRollups(submission);
+        } catch (RuntimeException e) {
+            System.out.println("⚠️ Evaluation " + submission.getId() + " stored but totals for event " + eventId
+                    + " not updated (" + e.getMessage() + "); rebuild them with POST /api/events/"
+                    + eventId + "/evaluations/rebuild");
+        }
+        return submission;
+    }
+
+    /**
+     * ✅ Fail fast with DuplicateKeyException if this student already evaluated the event.
+     * Answered from the (eventId, studentId) index, before the event itself is read;
+     * the unique index on insert still decides concurrent submissions.
+     * Migrated submissions the migration couldn't link to a student only carry studentName,
+     * so for events that still have such rows the student's name is compared too (ignoring case).
+     */
+    public void rejectIfAlreadyEvaluated(String eventId, String studentId) {
+        Query query = new Query(Criteria.where("eventId").is(eventId).and("studentId").is(studentId));
+        if (mongoTemplate.exists(query, EventEvaluationModel.class)) {
+            throw new DuplicateKeyException("⚠️ You already submitted an evaluation for this event.");
+        }
+
+        Query legacy = new Query(Criteria.where("eventId").is(eventId).and("studentId").exists(false));
+        if (!mongoTemplate.exists(legacy, EventEvaluationModel.class)) {
+            return;
+        }
+
+        Query student = new Query(Criteria.where("_id").is(studentId));
+        student.fields().include("studentName");
+        StudentModel found = mongoTemplate.findOne(student, StudentModel.class);
+        if (found == null || found.getStudentName() == null || found.getStudentName().isBlank()) {
+            return;
+        }
+
+        legacy.addCriteria(Criteria.where("studentName")
+                .regex("^\\s*" + Pattern.quote(found.getStudentName().trim()) + "\\s*$", "i"));
+        if (mongoTemplate.exists(legacy, EventEvaluationModel.class)) {
+            throw new DuplicateKeyException("⚠️ You already submitted an evaluation for this event.");
+        }
+    }
+
+    /**
+     * ✅ Dashboard totals: event summary + one entry per question (OFFICER or ADMIN only)
+     */
+    public EventEvaluationSummaryModel getSummary(String eventId, String token) {
+        requireOfficerOrAdmin(token);
+
+        EventEvaluationSummaryModel summary = mongoTemplate.findById(eventId, EventEvaluationSummaryModel.class);
+        if (summary == null) {
+            summary = new EventEvaluationSummaryModel();
+            summary.setEventId(eventId);
+        }
+
+        Query questions = new Query(Criteria.where("eventId").is(eventId))
+                .with(Sort.by(Sort.Direction.ASC, "question"));
+        summary.setQuestions(mongoTemplate.find(questions, EvaluationQuestionStatsModel.class));
+        return summary;
+    }
+
+    /**
+     * ✅ One page of an event's submissions, oldest first (OFFICER or ADMIN only)
+     */
+    public CursorPage<EventEvaluationModel> getEvaluations(String eventId, String after, int limit, String token) {
+        requireOfficerOrAdmin(token);
+
+        int pageSize = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+
+        Criteria criteria = Criteria.where("eventId").is(eventId);
+        if (after != null && !after.isBlank()) {
+            if (!ObjectId.isValid(after)) {
+                throw new RuntimeException("❌ Invalid cursor.");
+            }
+            criteria = criteria.and("_id").gt(new ObjectId(after));
+        }
+
+        Query query = new Query(criteria)
+                .with(Sort.by(Sort.Direction.ASC, "_id"))
+                .limit(pageSize + 1);
+
+        List<EventEvaluationModel> rows = mongoTemplate.find(query, EventEvaluationModel.class);
+
+        String nextCursor = null;
+        if (rows.size() > pageSize) {
+            rows = new ArrayList<>(rows.subList(0, pageSize));
+            nextCursor = rows.get(pageSize - 1).getId();
+        }
+        return new CursorPage<>(rows, nextCursor);
+    }
+
+    /**
+     * ✅ Remove submissions and totals of a deleted event
+     */
+    public void deleteForEvent(String eventId) {
+        Query byEvent = new Query(Criteria.where("eventId").is(eventId));
+        mongoTemplate.remove(byEvent, EventEvaluationModel.class);
+        mongoTemplate.remove(byEvent, EvaluationQuestionStatsModel.class);
+        mongoTemplate.remove(new Query(Criteria.where("_id").is(eventId)), EventEvaluationSummaryModel.class);
+    }
+
+    /**
+     * ✅ Repair an event's dashboard totals from its submissions (ADMIN only)
+     */
+    public EventEvaluationSummaryModel repairRollups(String eventId, String token) {
+        String cleanToken = token;
+        if (cleanToken != null && cleanToken.startsWith("Bearer ")) {
+            cleanToken = cleanToken.substring(7).trim();
+        }
+        if (!"ADMIN".equalsIgnoreCase(jwtService.getRoleFromToken(cleanToken))) {
+            throw new RuntimeException("🚫 Unauthorized: Only ADMIN can rebuild evaluation totals.");
+        }
+
+        rebuildRollups(eventId);
+        System.out.println("🔧 Rebuilt evaluation totals for event " + eventId);
+        return getSummary(eventId, token);
+    }
+
+    /**
+     * ✅ Recompute an event's totals from its stored submissions (used by the migration and as the
+     * repair path when a submission's $inc was lost). Sets absolute values, so it can be re-run;
+     * a submission landing while it runs may be left out, so re-run it once things are quiet.
+     */
+    public void rebuildRollups(String eventId) {
+        Aggregation perQuestion = Aggregation.newAggregation(
+                Aggregation.match(Criteria.where("eventId").is(eventId)),
+                Aggregation.unwind("studentEvaluationInfos"),
+                Aggregation.group("studentEvaluationInfos.question")
+                        .count().as("count")
+                        .sum("studentEvaluationInfos.studentRate").as("sum")
+                        .sum(ArithmeticOperators.Multiply.valueOf("studentEvaluationInfos.studentRate")
+                                .multiplyBy("studentEvaluationInfos.studentRate")).as("sumSquares")
+        );
+
+        mongoTemplate.remove(new Query(Criteria.where("eventId").is(eventId)), EvaluationQuestionStatsModel.class);
+
+        List<EvaluationQuestionStatsModel> stats = new ArrayList<>();
+        for (Document row : mongoTemplate.aggregate(perQuestion, EventEvaluationModel.class, Document.class)) {
+            if (row.get("_id") == null) {
+                continue;
+            }
+            EvaluationQuestionStatsModel stat = new EvaluationQuestionStatsModel();
+            stat.setEventId(eventId);
+            stat.setQuestion(row.get("_id").toString());
+            stat.setCount(((Number) row.get("count")).longValue());
+            stat.setSum(((Number) row.get("sum")).doubleValue());
+            stat.setSumSquares(((Number) row.get("sumSquares")).doubleValue());
+            stats.add(stat);
+        }
+        if (!stats.isEmpty()) {
+            mongoTemplate.insertAll(stats);
+        }
+
+        Aggregation perEvent = Aggregation.newAggregation(
+                Aggregation.match(Criteria.where("eventId").is(eventId)),
+                Aggregation.group("eventId")
+                        .count().as("count")
+                        .sum("studentAverageRate").as("averageRateSum")
+        );
+        Document total = mongoTemplate.aggregate(perEvent, EventEvaluationModel.class, Document.class)
+                .getUniqueMappedResult();
+
+        mongoTemplate.upsert(
+                new Query(Criteria.where("_id").is(eventId)),
+                new Update()
+                        .set("evaluationCount", total != null ? ((Number) total.get("count")).longValue() : 0L)
+                        .set("averageRateSum", total != null ? ((Number) total.get("averageRateSum")).doubleValue() : 0.0),
+                EventEvaluationSummaryModel.class);
+    }
+
+    private void applyToRollups(EventEvaluationModel submission) {
+        String eventId = submission.getEventId();
+
+        mongoTemplate.upsert(
+                new Query(Criteria.where("_id").is(eventId)),
+                new Update()
+                        .inc("evaluationCount", 1)
+                        .inc("averageRateSum", submission.getStudentAverageRate()),
+                EventEvaluationSummaryModel.class);
+
+        List<StudentEvaluationInfo> infos = submission.getStudentEvaluationInfos();
+        if (infos == null || infos.isEmpty()) {
+            return;
+        }
+
+        // One round trip for all questions; each upsert hits the (eventId, question) unique index
+        BulkOperations ops = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, EvaluationQuestionStatsModel.class);
+        int queued = 0;
+        for (StudentEvaluationInfo info : infos) {
+            if (info == null || info.getQuestion() == null) {
+                continue;
+            }
+            double rate = info.getStudentRate();
+            ops.upsert(
+                    new Query(Criteria.where("eventId").is(eventId).and("question").is(info.getQuestion())),
+                    new Update()
+                            .inc("count", 1)
+                            .inc("sum", rate)
+                            .inc("sumSquares", rate * rate));
+            queued++;
+        }
+        if (queued > 0) {
+            ops.execute();
+        }
+    }
+
+    private void requireOfficerOrAdmin(String token) {
+        String cleanToken = token;
+        if (cleanToken != null && cleanToken.startsWith("Bearer ")) {
+            cleanToken = cleanToken.substring(7).trim();
+        }
+
+        String role = jwtService.getRoleFromToken(cleanToken);
+        if (!"OFFICER".equalsIgnoreCase(role) && !"ADMIN".equalsIgnoreCase(role)) {
+            throw new RuntimeException("🚫 Unauthorized: Only OFFICER or ADMIN can view evaluations.");
+        }
+    }
+}
@@ -1,83 +1,382 @@
 package com.example.ThesisBackend.service;
 
-import com.mongodb.client.gridfs.GridFSBucket;
-import com.mongodb.client.gridfs.GridFSBuckets;
+import com.example.ThesisBackend.Caching.ImageDiskCache;
+import com.example.ThesisBackend.eventUtils.ImageResizer;
+import com.mongodb.MongoGridFSException;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.MongoCursor;
 import com.mongodb.client.gridfs.model.GridFSFile;
 import com.mongodb.client.gridfs.model.GridFSUploadOptions;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.Sorts;
+import jakarta.annotation.PreDestroy;
 import org.bson.Document;
+import org.bson.types.Binary;
 import org.bson.types.ObjectId;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 import org.springframework.data.mongodb.MongoDatabaseFactory;
 import org.springframework.data.mongodb.core.query.Criteria;
 import org.springframework.data.mongodb.core.query.Query;
 import org.springframework.data.mongodb.gridfs.GridFsTemplate;
 import org.springframework.http.MediaType;
 import org.springframework.stereotype.Service;
-import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.multipart.MaxUploadSizeExceededException;
 
+import java.awt.image.BufferedImage;
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.FilterInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 @Service
 public class EventImageService {
 
+    // Enough of the head of an upload to recognise every accepted format
+    private static final int SNIFF_BYTES = 16;
+    private static final int SNIFF_BUFFER_SIZE = 64 * 1024;
+
+    // The size feed cards link to (EventService.toSummary) — what warm-up pre-loads
+    private static final String WARM_SIZE = "card";
+
+    // Chunk documents fetched per cursor batch (255 KB each by default) — bounds heap per stream
+    private static final int CHUNK_BATCH_SIZE = 2;
+
     @Autowired
     private GridFsTemplate gridFsTemplate;
 
     @Autowired
     private MongoDatabaseFactory mongoDatabaseFactory;
 
+    // 💽 Second tier: image bytes on local disk, kept across restarts
+    @Autowired
+    private ImageDiskCache imageDiskCache;
+
+    @Value("${events.image.maxUploadBytes:15728640}")
+    private long maxUploadBytes;
+
+    // Images up to this size are kept in eventImageCache; bigger ones are always streamed
+    @Value("${events.image.memoryCacheMaxBytes:262144}")
+    private long memoryCacheMaxBytes;
+
+    private final Cache imageCache;
+
+    // 🗂️ fs.files documents by id (immutable once stored): one lookup per image, then none
+    private final Cache metadataCache;
+
+    // 📐 Resized JPEG variants (max width in px), generated in the background after each upload
+    private final Map<String, Integer> variantWidths = new LinkedHashMap<>();
+
+    @Value("${events.image.variants.jpegQuality:0.8}")
+    private float jpegQuality;
+
+    // Larger images (by the width x height in their header) are never decoded: a small file can declare 30000x30000
+    @Value("${events.image.variants.maxPixels:50000000}")
+    private long maxPixels;
+
+    // One re-encode at a time: decoding a phone photo takes tens of MB
+    private final ExecutorService variantRunner = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "event-image-variants");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public EventImageService(CacheManager cacheManager,
+                             @Value("${events.image.variants.thumbnailWidth:320}") int thumbnailWidth,
+                             @Value("${events.image.variants.cardWidth:720}") int cardWidth,
+                             @Value("${events.image.variants.fullWidth:1600}") int fullWidth) {
+        this.imageCache = cacheManager.getCache("eventImageCache");
+        this.metadataCache = cacheManager.getCache("eventImageMetadataCache");
+        variantWidths.put("thumbnail", thumbnailWidth);
+        variantWidths.put("card", cardWidth);
+        variantWidths.put("full", fullWidth);
+    }
+
     /**
-     * ✅ Store image using eventId as same _id in GridFS
+     * ✅ Stream an upload into GridFS, chunk by chunk as the body arrives (nothing is buffered whole).
+     * The real content type is sniffed from the first bytes; a body over events.image.maxUploadBytes
+     * aborts the upload, and the driver removes the chunks already written.
+     * The event isn't touched here — see EventService.uploadEventImage for the swap.
+     * @throws MaxUploadSizeExceededException when the body is too large
+     * @throws IllegalArgumentException when the bytes aren't a supported image
      */
-    public String storeImageWithEventId(String eventId, MultipartFile file) throws IOException {
-        // Delete any existing image for this eventId
-        deleteImage(eventId);
+    public String storeImage(String eventId, InputStream body, String filename) throws IOException {
+        BufferedInputStream in = new BufferedInputStream(new SizeLimitedInputStream(body, maxUploadBytes), SNIFF_BUFFER_SIZE);
+        byte[] head;
+        try {
+            in.mark(SNIFF_BYTES);
+            head = in.readNBytes(SNIFF_BYTES);
+            in.reset();
+        } catch (UploadTooLargeException e) {
+            // The buffer reads ahead: a small body over the limit fails here, before GridFS sees it
+            throw new MaxUploadSizeExceededException(maxUploadBytes);
+        }
 
-        ObjectId objectId = new ObjectId(eventId);
+        String contentType = sniffContentType(head);
+        if (contentType == null) {
+            throw new IllegalArgumentException("❌ Unsupported image format (JPEG, PNG, GIF, WebP, HEIC or AVIF only)");
+        }
 
-        // Include the _id in metadata
-        Document metadata = new Document("contentType", file.getContentType())
-                .append("_id", objectId);
+        Document metadata = new Document("contentType", contentType)
+                .append("eventId", eventId);
+
+        ObjectId storedId;
+        try {
+            storedId = gridFsTemplate.store(
+                    in,
+                    filename != null && !filename.isBlank() ? filename : eventId,
+                    contentType,
+                    metadata
+            );
+        } catch (MongoGridFSException e) {
+            if (e.getCause() instanceof UploadTooLargeException) {
+                throw new MaxUploadSizeExceededException(maxUploadBytes);
+            }
+            throw e;
+        }
 
-        // Store the file
-        ObjectId storedId = gridFsTemplate.store(
-                file.getInputStream(),
-                file.getOriginalFilename(),
-                file.getContentType(),
-                metadata
-        );
+        System.out.println("✅ Stored image for eventId: " + eventId + " (" + contentType + ")");
 
-        System.out.println("✅ Stored image for eventId: " + eventId);
-        return storedId.toHexString();
+        String imageId = storedId.toHexString();
+        variantRunner.submit(() -> generateVariants(imageId));
+        return imageId;
     }
 
+    public long getMaxUploadBytes() {
+        return maxUploadBytes;
+    }
 
+    /**
+     * ✅ Image type from its magic bytes, or null when it isn't one we accept
+     */
+    static String sniffContentType(byte[] head) {
+        if (startsWith(head, 0, 0xFF, 0xD8, 0xFF)) {
+            return MediaType.IMAGE_JPEG_VALUE;
+        }
+        if (startsWith(head, 0, 0x89, 'P', 'N', 'G', 0x0D, 0x0A, 0x1A, 0x0A)) {
+            return MediaType.IMAGE_PNG_VALUE;
+        }
+        if (startsWith(head, 0, 'G', 'I', 'F', '8')) {
+            return MediaType.IMAGE_GIF_VALUE;
+        }
+        if (startsWith(head, 0, 'R', 'I', 'F', 'F') && startsWith(head, 8, 'W', 'E', 'B', 'P')) {
+            return "image/webp";
+        }
+        // ISO-BMFF: size, then "ftyp" + brand
+        if (startsWith(head, 4, 'f', 't', 'y', 'p') && head.length >= 12) {
+            String brand = new String(head, 8, 4, StandardCharsets.US_ASCII);
+            switch (brand) {
+                case "heic", "heix", "hevc", "hevx", "mif1", "msf1":
+                    return "image/heic";
+                case "avif", "avis":
+                    return "image/avif";
+                default:
+                    return null;
+            }
+        }
+        return null;
+    }
 
+    private static boolean startsWith(byte[] bytes, int offset, int... expected) {
+        if (bytes.length < offset + expected.length) {
+            return false;
+        }
+        for (int i = 0; i < expected.length; i++) {
+            if ((bytes[offset + i] & 0xFF) != expected[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
 
     /**
-     * ✅ Retrieve image bytes by Event ID
+     * ✅ True for the sizes {@code ?size=} accepts besides the original
      */
-    public byte[] getImageById(String id) {
-        try {
-            GridFSBucket bucket = GridFSBuckets.create(mongoDatabaseFactory.getMongoDatabase());
-            try (InputStream stream = bucket.openDownloadStream(new ObjectId(id))) {
-                return stream.readAllBytes();
+    public boolean isVariant(String size) {
+        return variantWidths.containsKey(size);
+    }
+
+    /**
+     * ✅ A resized variant of an image, or the original while the variant isn't there
+     * (still being generated, or the format couldn't be decoded / shrunk).
+     * Only found variants are cached, so a finished variant is picked up on the next request.
+     */
+    public GridFSFile findImageFile(String id, String size) {
+        if (size == null || !isVariant(size)) {
+            return findImageFile(id);
+        }
+        if (id == null || !ObjectId.isValid(id)) {
+            return null;
+        }
+
+        String key = id + ":" + size;
+        Cache.ValueWrapper cached = metadataCache.get(key);
+        if (cached != null && cached.get() != null) {
+            return (GridFSFile) cached.get();
+        }
+
+        GridFSFile variant = gridFsTemplate.findOne(new Query(
+                Criteria.where("metadata.variantOf").is(new ObjectId(id)).and("metadata.variant").is(size)));
+        if (variant != null) {
+            metadataCache.put(key, variant);
+            return variant;
+        }
+        return findImageFile(id);
+    }
+
+    /**
+     * 🔥 Pre-load the caches for one event image, the way a feed card requests it: metadata of the
+     * original and of the card variant, plus the card's bytes (heap tier when small, otherwise a
+     * background copy to the disk tier).
+     * @return bytes added to eventImageCache (0 when the image went to disk or wasn't found)
+     */
+    public long warmImage(String imageId) {
+        if (findImageFile(imageId) == null) {
+            return 0;
+        }
+
+        GridFSFile card = findImageFile(imageId, WARM_SIZE);
+        String id = card.getObjectId().toHexString();
+        long length = card.getLength();
+
+        if (length <= memoryCacheMaxBytes) {
+            if (imageCache.get(id) != null) {
+                return 0;
             }
-        } catch (Exception e) {
-            System.out.println("❌ Image not found or error reading ID: " + id + " (" + e.getMessage() + ")");
+            imageCache.get(id, () -> loadBytes(card));
+            return length;
+        }
+
+        imageDiskCache.fill(id, length, disk -> copyChunks(card, 0, length, disk));
+        return 0;
+    }
+
+    /**
+     * 🔥 Warm a newly linked image off the request thread. Queued behind the upload's variant
+     * generation (same single thread), so the card variant already exists when this runs.
+     */
+    public void warmImageInBackground(String imageId) {
+        if (imageId == null || !ObjectId.isValid(imageId)) {
+            return;
+        }
+        variantRunner.submit(() -> {
+            try {
+                warmImage(imageId);
+            } catch (Exception e) {
+                System.out.println("⚠️ Could not warm image " + imageId + ": " + e.getMessage());
+            }
+        });
+    }
+
+    /**
+     * ✅ GridFS file (metadata only: content type, length, upload date, chunk size) for an image id,
+     * or null when there is none. Served from eventImageMetadataCache after the first lookup.
+     * Misses aren't cached: an id looked up before its upload completed is found on the next request.
+     */
+    public GridFSFile findImageFile(String id) {
+        if (id == null || !ObjectId.isValid(id)) {
             return null;
         }
+
+        Cache.ValueWrapper cached = metadataCache.get(id);
+        if (cached != null && cached.get() != null) {
+            return (GridFSFile) cached.get();
+        }
+
+        GridFSFile file = gridFsTemplate.findOne(new Query(Criteria.where("_id").is(new ObjectId(id))));
+        if (file != null) {
+            metadataCache.put(id, file);
+        }
+        return file;
     }
 
     /**
-     * ✅ Get image content type by Event ID
+     * ✅ Write an image to the response.
+     * Small files are answered from eventImageCache; anything larger is copied chunk by chunk
+     * from the GridFS download stream, so a big poster never sits whole on the heap.
      */
-    public String getImageContentType(String id) {
-        GridFSFile file = gridFsTemplate.findOne(
-                new Query(Criteria.where("_id").is(new ObjectId(id)))
-        );
+    public void writeImage(GridFSFile file, OutputStream out) throws IOException {
+        writeImage(file, 0, file.getLength(), out);
+    }
+
+    /**
+     * ✅ Write {@code count} bytes of an image starting at {@code start} (Range requests).
+     * Reads fs.chunks directly with the already-resolved file, so there is no second fs.files
+     * lookup, and only the chunks covering the range are fetched.
+     */
+    public void writeImage(GridFSFile file, long start, long count, OutputStream out) throws IOException {
+        if (count <= 0) {
+            return;
+        }
+        String id = file.getObjectId().toHexString();
+        long length = file.getLength();
+
+        if (length <= memoryCacheMaxBytes) {
+            byte[] bytes = imageCache.get(id, () -> loadBytes(file));
+            out.write(bytes, (int) start, (int) count);
+            return;
+        }
 
+        Path onDisk = imageDiskCache.find(id, length);
+        if (onDisk != null) {
+            try {
+                transfer(onDisk, start, count, out);
+                return;
+            } catch (NoSuchFileException e) {
+                // evicted from disk in the meantime — fall back to GridFS
+            }
+        }
+
+        imageDiskCache.fill(id, length, disk -> copyChunks(file, 0, length, disk));
+        copyChunks(file, start, count, out);
+    }
+
+    /**
+     * ✅ Disk copy of a large image for Tomcat sendfile, or null (small images are served from
+     * the heap tier; large ones not on disk yet are streamed from GridFS and copied to disk)
+     */
+    public Path sendfilePath(GridFSFile file) {
+        if (file.getLength() <= memoryCacheMaxBytes) {
+            return null;
+        }
+        return imageDiskCache.find(file.getObjectId().toHexString(), file.getLength());
+    }
+
+    /**
+     * ✅ Strong ETag for a stored image.
+     * GridFS no longer keeps an MD5, but a file's bytes never change after upload (a new upload
+     * gets a new id), so id + upload date + length identify the content.
+     */
+    public static String etagOf(GridFSFile file) {
+        return "\"" + file.getObjectId().toHexString()
+                + "-" + Long.toHexString(file.getUploadDate().getTime())
+                + "-" + Long.toHexString(file.getLength()) + "\"";
+    }
+
+    /**
+     * ✅ Content type stored with the image (JPEG when unknown)
+     */
+    public static String contentTypeOf(GridFSFile file) {
         if (file != null && file.getMetadata() != null) {
             String type = file.getMetadata().getString("contentType");
             if (type != null && !type.isEmpty()) return type;
@@ -86,15 +385,224 @@ public class EventImageService {
         return MediaType.IMAGE_JPEG_VALUE;
     }
 
+    // Heap-tier loader: disk copy first, GridFS (and a disk copy for next time) otherwise
+    private byte[] loadBytes(GridFSFile file) throws IOException {
+        String id = file.getObjectId().toHexString();
+        Path onDisk = imageDiskCache.find(id, file.getLength());
+        if (onDisk != null) {
+            try {
+                return Files.readAllBytes(onDisk);
+            } catch (NoSuchFileException e) {
+                // evicted from disk in the meantime
+            }
+        }
+
+        byte[] bytes = readAll(file);
+        imageDiskCache.fill(id, bytes.length, disk -> disk.write(bytes));
+        return bytes;
+    }
+
+    // Zero-copy where the target allows it; FileChannel.transferTo loops until count is sent
+    private static void transfer(Path path, long start, long count, OutputStream out) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            WritableByteChannel target = Channels.newChannel(out);
+            long position = start;
+            long remaining = count;
+            while (remaining > 0) {
+                long sent = channel.transferTo(position, remaining, target);
+                if (sent <= 0) {
+                    throw new IOException("❌ Cached image " + path.getFileName() + " is shorter than expected");
+                }
+                position += sent;
+                remaining -= sent;
+            }
+        }
+    }
+
+    private byte[] readAll(GridFSFile file) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream((int) file.getLength());
+        copyChunks(file, 0, file.getLength(), out);
+        return out.toByteArray();
+    }
+
+    // Copy bytes [start, start + count) from the file's chunks, in order
+    private void copyChunks(GridFSFile file, long start, long count, OutputStream out) throws IOException {
+        long chunkSize = file.getChunkSize();
+        long end = start + count;
+        int firstChunk = (int) (start / chunkSize);
+        int lastChunk = (int) ((end - 1) / chunkSize);
+
+        MongoCollection<Document> chunks = mongoDatabaseFactory.getMongoDatabase().getCollection("fs.chunks");
+        try (MongoCursor<Document> cursor = chunks
+                .find(Filters.and(
+                        Filters.eq("files_id", file.getId()),
+                        Filters.gte("n", firstChunk),
+                        Filters.lte("n", lastChunk)))
+                .sort(Sorts.ascending("n"))
+                .batchSize(CHUNK_BATCH_SIZE)
+                .iterator()) {
+
+            int expected = firstChunk;
+            long position = firstChunk * chunkSize;
+            while (cursor.hasNext()) {
+                Document chunk = cursor.next();
+                if (chunk.getInteger("n") != expected) {
+                    throw new IOException("❌ Missing chunk " + expected + " of image " + file.getObjectId());
+                }
+
+                byte[] data = chunk.get("data", Binary.class).getData();
+                int from = (int) Math.max(0, start - position);
+                int to = (int) Math.min(data.length, end - position);
+                if (to > from) {
+                    out.write(data, from, to - from);
+                }
+                position += data.length;
+                expected++;
+            }
+
+            if (expected != lastChunk + 1) {
+                throw new IOException("❌ Missing chunk " + expected + " of image " + file.getObjectId());
+            }
+        }
+    }
+
+    /**
+     * 📐 Decode an uploaded image once and store a JPEG per variant.
+     * A variant that wouldn't be smaller than the original is skipped (the original is served instead).
+     */
+    private void generateVariants(String imageId) {
+        try {
+            GridFSFile original = findImageFile(imageId);
+            if (original == null) {
+                return;
+            }
+
+            // Streamed from GridFS and subsampled down to about the widest variant while decoding
+            int largestWidth = Collections.max(variantWidths.values());
+            BufferedImage image;
+            try (InputStream in = gridFsTemplate.getResource(original).getInputStream()) {
+                image = ImageResizer.decode(in, largestWidth, maxPixels);
+            }
+            if (image == null) {
+                System.out.println("⚠️ No decoder for image " + imageId + "; serving the original for every size");
+                return;
+            }
+
+            int stored = 0;
+            for (Map.Entry<String, Integer> variant : variantWidths.entrySet()) {
+                byte[] jpeg = ImageResizer.toJpeg(image, variant.getValue(), jpegQuality);
+                if (jpeg.length >= original.getLength()) {
+                    continue;
+                }
+
+                Document metadata = new Document("contentType", MediaType.IMAGE_JPEG_VALUE)
+                        .append("variantOf", original.getObjectId())
+                        .append("variant", variant.getKey());
+                gridFsTemplate.store(
+                        new ByteArrayInputStream(jpeg),
+                        imageId + "-" + variant.getKey() + ".jpg",
+                        MediaType.IMAGE_JPEG_VALUE,
+                        metadata
+                );
+                stored++;
+            }
+
+            // Replaced or deleted while we were resizing: deleteImage may have run before these
+            // variants existed, so remove what was just written instead of leaving orphans
+            if (stored > 0 && gridFsTemplate.findOne(new Query(Criteria.where("_id").is(original.getObjectId()))) == null) {
+                deleteVariants(original.getObjectId());
+                System.out.println("🧹 Image " + imageId + " was deleted while resizing; dropped its variants");
+                return;
+            }
+
+            System.out.println("🖼️ Stored " + stored + " resized variants for image " + imageId
+                    + " (" + original.getLength() + " bytes original)");
+        } catch (Exception e) {
+            System.out.println("❌ Resizing image " + imageId + " failed: " + e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        variantRunner.shutdownNow();
+    }
+
+    // Thrown from inside the GridFS upload loop; an IOException so the driver aborts the upload
+    static final class UploadTooLargeException extends IOException {
+        UploadTooLargeException(long limit) {
+            super("❌ Image is larger than " + limit + " bytes");
+        }
+    }
+
+    // Fails the read as soon as more than {@code limit} bytes have come through
+    static final class SizeLimitedInputStream extends FilterInputStream {
+        private final long limit;
+        private long count;
+
+        SizeLimitedInputStream(InputStream in, long limit) {
+            super(in);
+            this.limit = limit;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b != -1) {
+                count(1);
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            int read = super.read(buffer, offset, length);
+            if (read > 0) {
+                count(read);
+            }
+            return read;
+        }
+
+        private void count(long read) throws IOException {
+            count += read;
+            if (count > limit) {
+                throw new UploadTooLargeException(limit);
+            }
+        }
+    }
+
     /**
-     * ✅ Delete existing image by Event ID
+     * ✅ Delete an image (by its GridFS id) with its variants, and forget all of them in every cache tier
      */
     public void deleteImage(String id) {
         try {
-            gridFsTemplate.delete(new Query(Criteria.where("_id").is(new ObjectId(id))));
+            ObjectId imageId = new ObjectId(id);
+            gridFsTemplate.delete(new Query(Criteria.where("_id").is(imageId)));
+            deleteVariants(imageId);
+            metadataCache.evict(id);
+            imageCache.evict(id);
+            imageDiskCache.remove(id);
+            for (String size : variantWidths.keySet()) {
+                metadataCache.evict(id + ":" + size);
+            }
             System.out.println("🗑️ Deleted existing image for ID: " + id);
         } catch (Exception e) {
             System.out.println("⚠️ No existing image to delete for ID: " + id);
         }
     }
+
+    // Variants are files of their own: their bytes are cached under the variant's id, not the original's
+    private void deleteVariants(ObjectId originalId) {
+        Query variants = new Query(Criteria.where("metadata.variantOf").is(originalId));
+        List<String> variantIds = new ArrayList<>();
+        for (GridFSFile variant : gridFsTemplate.find(variants)) {
+            variantIds.add(variant.getObjectId().toHexString());
+        }
+
+        gridFsTemplate.delete(variants);
+        for (String variantId : variantIds) {
+            metadataCache.evict(variantId);
+            imageCache.evict(variantId);
+            imageDiskCache.remove(variantId);
+        }
+    }
 }
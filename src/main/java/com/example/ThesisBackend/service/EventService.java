@@ -1,40 +1,75 @@
 package com.example.ThesisBackend.service;
 
+import com.example.ThesisBackend.Caching.EventFeedCache;
+import com.example.ThesisBackend.Model.EventAttendanceModel;
 import com.example.ThesisBackend.Model.EventModel;
 import com.example.ThesisBackend.Model.StudentModel;
+import com.example.ThesisBackend.eventUtils.AttendanceScanResult;
+import com.example.ThesisBackend.eventUtils.AttendanceUploadResult;
+import com.example.ThesisBackend.eventUtils.CursorPage;
 import com.example.ThesisBackend.eventUtils.EventAttendance;
 import com.example.ThesisBackend.eventUtils.EventEvaluationDetails;
+import com.example.ThesisBackend.eventUtils.EventSummary;
+import com.example.ThesisBackend.eventUtils.EventTimes;
+import com.example.ThesisBackend.repository.EventAttendanceRepository;
 import com.example.ThesisBackend.repository.EventRepository;
+import com.example.ThesisBackend.repository.StudentAuthView;
 import com.example.ThesisBackend.repository.StudentRepository;
 import com.example.ThesisBackend.security.JWTService;
+import com.example.ThesisBackend.security.JwtPrincipal;
+import com.example.ThesisBackend.security.StudentDetailsService;
 import com.example.ThesisBackend.studentUtils.StudentEventAttended;
 import com.example.ThesisBackend.studentUtils.StudentEventAttendedAndEvaluationDetails;
+import org.bson.Document;
+import org.bson.types.ObjectId;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
 import org.springframework.data.mongodb.core.query.Criteria;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 import org.springframework.data.mongodb.core.MongoTemplate;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
 import java.time.Instant;
+import java.time.ZoneId;
 import java.time.LocalDateTime;
 import java.time.OffsetDateTime;
 import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 import org.springframework.data.mongodb.core.query.Query;
 import org.springframework.data.mongodb.core.query.Update;
-import org.springframework.transaction.annotation.Transactional;
 
 @Service
 public class EventService {
 
+    // Mongo duplicate key error
+    private static final int DUPLICATE_KEY = 11000;
+
+    private static final int MAX_ATTENDANCE_PAGE_SIZE = 500;
+
+    private static final int MAX_FEED_PAGE_SIZE = 100;
+
     @Autowired
     private EventRepository eventRepository;
 
     @Autowired
     private StudentRepository studentRepository;
 
+    @Autowired
+    private EventAttendanceRepository eventAttendanceRepository;
+
     @Autowired
     private JWTService jwtService;
     @Autowired
@@ -43,6 +78,26 @@ public class EventService {
     @Autowired
     private EventImageService eventImageService;
 
+    @Autowired
+    private EventEvaluationService eventEvaluationService;
+
+    @Autowired
+    private StudentDetailsService studentDetailsService;
+
+    // 🔁 Bumped after every write that changes a feed card
+    @Autowired
+    private EventFeedCache eventFeedCache;
+
+    @Value("${events.imageBaseUrl:https://securebackend-ox2e.onrender.com/api/events/image/}")
+    private String imageBaseUrl;
+
+    // Zone the free-form event dates and times are written in
+    private final ZoneId eventZone;
+
+    public EventService(@Value("${events.timeZone:Asia/Manila}") String eventTimeZone) {
+        this.eventZone = ZoneId.of(eventTimeZone);
+    }
+
     // =====================================================
     // 🟢 CREATE
     // =====================================================
@@ -64,8 +119,16 @@ public class EventService {
                 throw new RuntimeException("🚫 Unauthorized: Only ADMIN or OFFICER can create events.");
             }
 
+            // 🔢 Attendance is recorded through the scan endpoints only
+            event.setAttendanceCount(0);
+
+            // 🕒 Normalized start / end for time-range queries
+            applySchedule(event);
+
             // 💾 Save to MongoDB
             EventModel saved = eventRepository.save(event);
+            eventFeedCache.bumpVersion();
+            eventImageService.warmImageInBackground(saved.getEventImageId());
             System.out.println("✅ Event created successfully: " + saved.getEventTitle());
             return saved;
 
@@ -76,11 +139,16 @@ public class EventService {
     }
 
     /**
-     * Post service upload attendance add many for optimization
+     * ✅ Bulk attendance upload (offline scanners sync thousands of scans at once).
+     * Set-based instead of one find + full save per attendee:
+     *  - one $in lookup (on the eventId/studentId index) of which uploaded students are already recorded
+     *  - one projected $in lookup for the uploaded students
+     *  - one unordered bulk of targeted $push / positional $set / $pull updates on the students
+     *  - one unordered bulk insert into eventAttendance, then one $inc of the event's attendanceCount
+     * Students are written before the attendance records, and every student update is guarded by
+     * its own filter, so re-sending the same upload after a failure only adds what is missing.
      */
-
-    @Transactional
-    public EventModel addMultipleStudentsInEvent(
+    public AttendanceUploadResult addMultipleStudentsInEvent(
             String eventId,
             String token,
             List<EventAttendance> eventAttendances) {
@@ -93,183 +161,277 @@ public class EventService {
                 cleanToken = cleanToken.substring(7).trim();
             }
 
-            // Validate token
-            if (!jwtService.validateToken(cleanToken)) {
+            // Validate token (claims already verified by JwtAuthenticationFilter)
+            JwtPrincipal principal = jwtService.resolvePrincipal(cleanToken);
+            if (principal == null) {
                 throw new RuntimeException("❌ Invalid or expired token.");
             }
 
             // Validate role
-            String role = jwtService.getRoleFromToken(cleanToken);
+            String role = principal.getRole();
 
             if (!"OFFICER".equalsIgnoreCase(role)
                     && !"ADMIN".equalsIgnoreCase(role)) {
                 throw new RuntimeException("🚫 Unauthorized.");
             }
 
-            // Find event
-            EventModel event = eventRepository.findById(eventId)
-                    .orElseThrow(() -> new RuntimeException("❌ Event not found."));
-
-            if (event.getEventAttendances() == null) {
-                event.setEventAttendances(new ArrayList<>());
-            }
+            List<EventAttendance> uploaded = eventAttendances != null ? eventAttendances : List.of();
+            AttendanceUploadResult result = new AttendanceUploadResult(eventId, uploaded.size());
 
-            // Process each attendance
-            for (EventAttendance attendance : eventAttendances) {
+            // 1️⃣ Event: title + evaluation end only
+            Query eventQuery = new Query(Criteria.where("_id").is(eventId));
+            eventQuery.fields()
+                    .include("eventTitle")
+                    .include("evaluationEnd");
 
-                if (attendance == null) {
-                    continue;
-                }
+            EventModel event = mongoTemplate.findOne(eventQuery, EventModel.class);
+            if (event == null) {
+                throw new RuntimeException("❌ Event not found.");
+            }
 
-                if (attendance.getStudentId() == null ||
-                        attendance.getStudentId().trim().isEmpty()) {
-                    continue;
-                }
+            Set<String> recordedIds = findRecordedStudentIds(eventId, uploaded);
 
-                if (attendance.getStudentNumber() == null ||
-                        attendance.getStudentNumber().trim().isEmpty()) {
-                    continue;
-                }
+            // 2️⃣ Validate, skip recorded + repeated rows
+            List<EventAttendance> candidates = selectNewAttendances(uploaded, recordedIds, result);
 
-                if (attendance.getStudentName() == null ||
-                        attendance.getStudentName().trim().isEmpty()) {
-                    continue;
+            // 3️⃣ Drop students that don't exist (one $in round trip)
+            Set<String> knownIds = findExistingStudentIds(candidates);
+            List<EventAttendance> accepted = new ArrayList<>(candidates.size());
+            for (EventAttendance attendance : candidates) {
+                if (knownIds.contains(attendance.getStudentId())) {
+                    accepted.add(attendance);
+                } else {
+                    result.setUnknownStudents(result.getUnknownStudents() + 1);
                 }
+            }
 
-                // Find student first
-                Optional<StudentModel> studentOpt =
-                        studentRepository.findById(attendance.getStudentId());
+            if (accepted.isEmpty()) {
+                System.out.println("ℹ️ Attendance upload for " + eventId + ": nothing new in "
+                        + uploaded.size() + " rows");
+                return result;
+            }
 
-                if (studentOpt.isEmpty()) {
-                    System.out.println("Student not found: " + attendance.getStudentId());
-                    continue;
-                }
+            // 4️⃣ Students first (idempotent), then the attendance records + counter
+            updateStudentsForAttendance(event, accepted);
 
-                StudentModel student = studentOpt.get();
+            int inserted = insertAttendanceRecords(eventId, accepted);
+            result.setAlreadyRecorded(result.getAlreadyRecorded() + accepted.size() - inserted);
 
-                // Check if already in Event attendance
-                boolean alreadyInEvent = event.getEventAttendances()
-                        .stream()
-                        .anyMatch(a -> attendance.getStudentId().equals(a.getStudentId()));
+            if (inserted > 0) {
+                mongoTemplate.updateFirst(
+                        new Query(Criteria.where("_id").is(eventId)),
+                        new Update().inc("attendanceCount", inserted),
+                        EventModel.class);
+            }
 
-                if (alreadyInEvent) {
-                    System.out.println("Already attended: " + attendance.getStudentName());
-                    continue;
-                }
+            result.setAdded(inserted);
+            System.out.println("✅ Attendance upload for " + event.getEventTitle() + ": "
+                    + result.getAdded() + " added, " + result.getAlreadyRecorded() + " already recorded, "
+                    + result.getUnknownStudents() + " unknown, " + result.getInvalid() + " invalid");
+            return result;
 
-                // Initialize student's event list
-                if (student.getStudentEventAttended() == null) {
-                    student.setStudentEventAttended(new ArrayList<>());
-                }
+        } catch (Exception e) {
+            e.printStackTrace();
 
-                // Check if student already has this event
-                boolean alreadyInStudent = student.getStudentEventAttended()
-                        .stream()
-                        .filter(Objects::nonNull)
-                        .anyMatch(e ->
-                                e.getEventId() != null &&
-                                        e.getEventId().equals(event.getId()));
-                // Add attendance to event
-                event.getEventAttendances().add(attendance);
+            System.out.println("ERROR:");
+            System.out.println(e.getClass().getName());
+            System.out.println(e.getMessage());
 
-                // Add event to student if not already present
-                if (!alreadyInStudent) {
+            throw e;
+        }
+    }
 
-                    StudentEventAttended studentEvent = new StudentEventAttended();
+    /**
+     * Rows that still have to be recorded: valid, not on the event yet, first occurrence in the upload.
+     * {@code recordedIds} is extended with every accepted studentId.
+     */
+    static List<EventAttendance> selectNewAttendances(List<EventAttendance> uploaded,
+                                                      Set<String> recordedIds,
+                                                      AttendanceUploadResult result) {
+        List<EventAttendance> selected = new ArrayList<>();
+
+        for (EventAttendance attendance : uploaded) {
+            if (attendance == null
+                    || isBlank(attendance.getStudentId())
+                    || isBlank(attendance.getStudentNumber())
+                    || isBlank(attendance.getStudentName())) {
+                result.setInvalid(result.getInvalid() + 1);
+                continue;
+            }
 
-                    studentEvent.setEventId(event.getId());
-                    studentEvent.setEventTitle(event.getEventTitle());
-                    studentEvent.setEvaluationTime(event.getEvaluationEnd());
-                    studentEvent.setStudentDateAttended(attendance.getDateScanned());
-                    studentEvent.setEvaluated(false);
+            if (!recordedIds.add(attendance.getStudentId())) {
+                result.setAlreadyRecorded(result.getAlreadyRecorded() + 1);
+                continue;
+            }
 
-                    student.getStudentEventAttended().add(studentEvent);
-                }
-                //  Updating student profile attended to true
-                // Initialize if null
-                if (student.getStudentEventAttendedAndEvaluationDetails() == null) {
-                    student.setStudentEventAttendedAndEvaluationDetails(new ArrayList<>());
-                }
+            selected.add(attendance);
+        }
+        return selected;
+    }
 
-                boolean exists = student.getStudentEventAttendedAndEvaluationDetails()
-                        .stream()
-                        .filter(Objects::nonNull)
-                        .anyMatch(e ->
-                                e.getEventId() != null &&
-                                        e.getEventId().equals(event.getId()));
-
-                System.out.println("They register? "+exists);
-
-                StudentEventAttendedAndEvaluationDetails details =
-                        student.getStudentEventAttendedAndEvaluationDetails()
-                                .stream()
-                                .filter(Objects::nonNull)
-                                .filter(e -> event.getId().equals(e.getEventId()))
-                                .findFirst()
-                                .orElse(null);
-
-                if (details != null) {
-                    // Update existing
-                    details.setAttended(true);
-                    details.setEvaluated(false);
-                    details.setEventDateAndTime(attendance.getDateScanned());
-
-                    System.out.println("Updated existing record.");
-                } else {
-                    // Create new
-                    details = new StudentEventAttendedAndEvaluationDetails();
-                    details.setEventId(event.getId());
-                    details.setEventTitle(event.getEventTitle());
-                    details.setEventDateAndTime(attendance.getDateScanned());
-                    details.setAttended(true);
-                    details.setEvaluated(false);
+    private static boolean isBlank(String value) {
+        return value == null || value.trim().isEmpty();
+    }
 
-                    student.getStudentEventAttendedAndEvaluationDetails().add(details);
+    private Set<String> findRecordedStudentIds(String eventId, List<EventAttendance> uploaded) {
+        List<String> ids = uploaded.stream()
+                .filter(Objects::nonNull)
+                .map(EventAttendance::getStudentId)
+                .filter(id -> !isBlank(id))
+                .distinct()
+                .toList();
+
+        Set<String> recorded = new HashSet<>();
+        if (ids.isEmpty()) {
+            return recorded;
+        }
 
-                    System.out.println("Added new record.");
-                }
-               //delete to notification if exits
-                if (student.getStudentNotifications() != null) {
-                    student.getStudentNotifications().removeIf(notification ->
-                            notification != null &&
-                                    event.getId().equals(notification.getEventId()));
-                }
+        Query query = new Query(Criteria.where("eventId").is(eventId).and("studentId").in(ids));
+        query.fields().include("studentId").exclude("_id");
 
-                // Save student
-                System.out.println("Processing " + attendance.getStudentName());
+        for (EventAttendanceModel record : mongoTemplate.find(query, EventAttendanceModel.class)) {
+            recorded.add(record.getStudentId());
+        }
+        return recorded;
+    }
 
-                System.out.println("Adding to event...");
+    /**
+     * Unordered insert into eventAttendance. Rows recorded concurrently by another scan fail on
+     * the (eventId, studentId) unique index and are simply not counted.
+     * @return how many rows were inserted
+     */
+    private int insertAttendanceRecords(String eventId, List<EventAttendance> attendances) {
+        List<EventAttendanceModel> records = new ArrayList<>(attendances.size());
+        for (EventAttendance attendance : attendances) {
+            records.add(toAttendanceRecord(eventId, attendance));
+        }
 
-                System.out.println("Saving student...");
+        try {
+            BulkOperations ops = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, EventAttendanceModel.class);
+            ops.insert(new ArrayList<>(records));
+            return ops.execute().getInsertedCount();
+        } catch (BulkOperationException e) {
+            boolean onlyDuplicates = e.getErrors().stream().allMatch(error -> error.getCode() == DUPLICATE_KEY);
+            if (!onlyDuplicates) {
+                throw e;
+            }
+            return e.getResult().getInsertedCount();
+        }
+    }
 
-                studentRepository.save(student);
+    private static EventAttendanceModel toAttendanceRecord(String eventId, EventAttendance attendance) {
+        EventAttendanceModel record = new EventAttendanceModel();
+        record.setId(new ObjectId().toHexString());
+        record.setEventId(eventId);
+        record.setStudentId(attendance.getStudentId());
+        record.setStudentNumber(attendance.getStudentNumber());
+        record.setStudentName(attendance.getStudentName());
+        record.setRole(attendance.getRole());
+        record.setDepartment(attendance.getDepartment());
+        record.setCourse(attendance.getCourse());
+        record.setDateScanned(attendance.getDateScanned());
+        return record;
+    }
 
-                System.out.println("Student saved.");
+    private Set<String> findExistingStudentIds(List<EventAttendance> attendances) {
+        if (attendances.isEmpty()) {
+            return Set.of();
+        }
 
-                System.out.println("Saving event...");
-            }
+        List<String> ids = attendances.stream().map(EventAttendance::getStudentId).toList();
+        Query query = new Query(Criteria.where("_id").in(ids));
+        query.fields().include("_id");
 
-            // Save event once
-            System.out.println("Saving event...");
-            EventModel savedEvent = eventRepository.save(event);
-            System.out.println("Event saved.");
-            return savedEvent;
+        Set<String> existing = new HashSet<>();
+        for (StudentModel student : mongoTemplate.find(query, StudentModel.class)) {
+            existing.add(student.getId());
+        }
+        return existing;
+    }
 
-        } catch (Exception e) {
-            e.printStackTrace();
+    /**
+     * Per student: add the event to studentEventAttended if missing, mark (or add) the
+     * attended/evaluation entry, and clear the event's notifications.
+     */
+    private void updateStudentsForAttendance(EventModel event, List<EventAttendance> attendances) {
+        String eventId = event.getId();
+        List<String> ids = attendances.stream().map(EventAttendance::getStudentId).toList();
+
+        // $push / $pull fail on arrays stored as null (older documents) — turn those into []
+        BulkOperations normalize = mongoTemplate.bulkOps(BulkOperations.BulkMode.ORDERED, StudentModel.class);
+        for (String field : List.of("studentEventAttended",
+                "studentEventAttendedAndEvaluationDetails",
+                "studentNotifications")) {
+            normalize.updateMulti(
+                    new Query(Criteria.where("_id").in(ids).and(field).is(null)),
+                    new Update().set(field, new ArrayList<>()));
+        }
+        normalize.execute();
+
+        BulkOperations ops = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, StudentModel.class);
+
+        for (EventAttendance attendance : attendances) {
+            String studentId = attendance.getStudentId();
+
+            StudentEventAttended studentEvent = new StudentEventAttended();
+            studentEvent.setEventId(eventId);
+            studentEvent.setEventTitle(event.getEventTitle());
+            studentEvent.setEvaluationTime(event.getEvaluationEnd());
+            studentEvent.setStudentDateAttended(attendance.getDateScanned());
+            studentEvent.setEvaluated(false);
+
+            ops.updateOne(
+                    new Query(Criteria.where("_id").is(studentId)
+                            .and("studentEventAttended.eventId").ne(eventId)),
+                    new Update().push("studentEventAttended", studentEvent));
+
+            // Existing entry → positional $set
+            ops.updateOne(
+                    new Query(Criteria.where("_id").is(studentId)
+                            .and("studentEventAttendedAndEvaluationDetails.eventId").is(eventId)),
+                    new Update()
+                            .set("studentEventAttendedAndEvaluationDetails.$.attended", true)
+                            .set("studentEventAttendedAndEvaluationDetails.$.evaluated", false)
+                            .set("studentEventAttendedAndEvaluationDetails.$.eventDateAndTime", attendance.getDateScanned())
+                            .pull("studentNotifications", new Document("eventId", eventId)));
+
+            // No entry yet → $push a new one
+            StudentEventAttendedAndEvaluationDetails details = new StudentEventAttendedAndEvaluationDetails();
+            details.setEventId(eventId);
+            details.setEventTitle(event.getEventTitle());
+            details.setEventDateAndTime(attendance.getDateScanned());
+            details.setAttended(true);
+            details.setEvaluated(false);
+
+            ops.updateOne(
+                    new Query(Criteria.where("_id").is(studentId)
+                            .and("studentEventAttendedAndEvaluationDetails.eventId").ne(eventId)),
+                    new Update()
+                            .push("studentEventAttendedAndEvaluationDetails", details)
+                            .pull("studentNotifications", new Document("eventId", eventId)));
+        }
 
-            System.out.println("ERROR:");
-            System.out.println(e.getClass().getName());
-            System.out.println(e.getMessage());
+        ops.execute();
+    }
 
-            throw e;
+    /**
+     * ✅ Upload and link an image to an event (multipart form; Spring has spooled the file already)
+     */
+    public EventModel uploadEventImage(String eventId, MultipartFile file, String token) {
+        try (InputStream body = file.getInputStream()) {
+            return uploadEventImage(eventId, body, file.getOriginalFilename(), token);
+        } catch (IOException e) {
+            System.out.println("❌ Error uploading event image: " + e.getMessage());
+            throw new RuntimeException(e);
         }
     }
 
     /**
-     * ✅ Upload and link an image to an event
+     * ✅ Stream an image into GridFS and point the event at it (ADMIN or OFFICER only).
+     * The old image keeps being served until the new file is complete; the switch is a single
+     * findAndModify, and only then is the old file (with its variants) deleted.
      */
-    public EventModel uploadEventImage(String eventId, MultipartFile file, String token) {
+    public EventModel uploadEventImage(String eventId, InputStream body, String filename, String token) throws IOException {
         try {
             // 🧹 Clean token (remove "Bearer " prefix if present)
             String cleanToken = token;
@@ -283,23 +445,42 @@ public class EventService {
                 throw new RuntimeException("🚫 Unauthorized: Only ADMIN or OFFICER can upload event images.");
             }
 
-            // 🔍 Find event
-            EventModel event = eventRepository.findById(eventId)
-                    .orElseThrow(() -> new RuntimeException("❌ Event not found with ID: " + eventId));
+            // 🔍 Event must exist before anything is written to GridFS
+            Query byId = new Query(Criteria.where("_id").is(eventId));
+            if (!mongoTemplate.exists(byId, EventModel.class)) {
+                throw new RuntimeException("❌ Event not found with ID: " + eventId);
+            }
 
-            // 💾 Store image in GridFS using same ID as event
-            String fileId = eventImageService.storeImageWithEventId(eventId, file);
+            // 💾 Stream into GridFS (size limit + content sniffing happen while reading)
+            String fileId = eventImageService.storeImage(eventId, body, filename);
 
-            // 🔗 Save image ID (same as event ID)
-            event.setEventImageId(fileId);
-            eventRepository.save(event);
+            // 🔗 Swap the image id in one step; the returned document still has the old one
+            EventModel previous = mongoTemplate.findAndModify(
+                    byId,
+                    new Update().set("eventImageId", fileId),
+                    FindAndModifyOptions.options().returnNew(false),
+                    EventModel.class);
 
-            System.out.println("✅ Event image uploaded and linked: " + event.getEventTitle());
-            return event;
+            if (previous == null) {
+                // Event deleted while the upload was running
+                eventImageService.deleteImage(fileId);
+                throw new RuntimeException("❌ Event not found with ID: " + eventId);
+            }
+            eventFeedCache.bumpVersion();
+
+            String oldImageId = previous.getEventImageId();
+            if (oldImageId != null && !oldImageId.isEmpty() && !oldImageId.equals(fileId)) {
+                eventImageService.deleteImage(oldImageId);
+            }
+
+            previous.setEventImageId(fileId);
+            eventImageService.warmImageInBackground(fileId);
+            System.out.println("✅ Event image uploaded and linked: " + previous.getEventTitle());
+            return previous;
 
         } catch (Exception e) {
             System.out.println("❌ Error uploading event image: " + e.getMessage());
-            throw new RuntimeException(e);
+            throw e;
         }
     }
 
@@ -322,6 +503,206 @@ public class EventService {
         }
     }
 
+    /**
+     * ✅ Event feed (Public): card fields only, newest eventStart first.
+     * Keyset paging on (eventStart, _id): pass the previous page's nextCursor as {@code after}.
+     * Optional filters: category, location (exact match) and an inclusive date range on eventStart
+     * ({@code from} / {@code to} as a date or an ISO timestamp; unreadable values are rejected).
+     * Every page is one index range scan on eventData, however many past events there are.
+     * @throws IllegalArgumentException for an invalid cursor or date filter
+     */
+    public CursorPage<EventSummary> getEventSummaries(String category, String location,
+                                                      String fromDate, String toDate,
+                                                      String after, int limit) {
+        try {
+            int pageSize = Math.max(1, Math.min(limit, MAX_FEED_PAGE_SIZE));
+
+            List<Criteria> filters = new ArrayList<>();
+            if (category != null && !category.isBlank()) {
+                filters.add(Criteria.where("eventCategory").is(category));
+            }
+            if (location != null && !location.isBlank()) {
+                filters.add(Criteria.where("eventLocation").is(location));
+            }
+            if ((fromDate != null && !fromDate.isBlank()) || (toDate != null && !toDate.isBlank())) {
+                Criteria range = Criteria.where("eventStart");
+                if (fromDate != null && !fromDate.isBlank()) {
+                    Instant from = EventTimes.parseRangeFrom(fromDate, eventZone);
+                    if (from == null) {
+                        throw new IllegalArgumentException("❌ Invalid 'from' date: " + fromDate);
+                    }
+                    range = range.gte(from);
+                }
+                if (toDate != null && !toDate.isBlank()) {
+                    Instant until = EventTimes.parseRangeUntil(toDate, eventZone);
+                    if (until == null) {
+                        throw new IllegalArgumentException("❌ Invalid 'to' date: " + toDate);
+                    }
+                    range = range.lt(until);
+                }
+                filters.add(range);
+            }
+            if (after != null && !after.isBlank()) {
+                filters.add(afterCursor(after));
+            }
+
+            Query query = new Query();
+            if (!filters.isEmpty()) {
+                query.addCriteria(new Criteria().andOperator(filters.toArray(new Criteria[0])));
+            }
+            query.with(Sort.by(Sort.Direction.DESC, "eventStart").and(Sort.by(Sort.Direction.DESC, "_id")))
+                    .limit(pageSize + 1);
+            includeSummaryFields(query);
+
+            List<EventModel> events = mongoTemplate.find(query, EventModel.class);
+
+            String nextCursor = null;
+            if (events.size() > pageSize) {
+                events = events.subList(0, pageSize);
+                nextCursor = encodeFeedCursor(events.get(pageSize - 1));
+            }
+
+            List<EventSummary> summaries = new ArrayList<>(events.size());
+            for (EventModel event : events) {
+                summaries.add(toSummary(event));
+            }
+
+            System.out.println("✅ Retrieved " + summaries.size() + " event summaries.");
+            return new CursorPage<>(summaries, nextCursor);
+        } catch (Exception e) {
+            System.out.println("❌ Error fetching events: " + e.getMessage());
+            throw e;
+        }
+    }
+
+    // Cursor = base64url("<eventStart epoch ms>\n<id>"); events without a start sort last and use an empty value
+    static String encodeFeedCursor(EventModel last) {
+        String start = last.getEventStart() != null ? Long.toString(last.getEventStart().toEpochMilli()) : "";
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((start + "\n" + last.getId()).getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Rows strictly after the cursor in (eventStart desc, _id desc) order.
+     * Missing starts sort lowest, so they always come after any dated cursor.
+     */
+    static Criteria afterCursor(String cursor) {
+        String decoded;
+        try {
+            decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("❌ Invalid cursor.");
+        }
+
+        int split = decoded.lastIndexOf('\n');
+        String id = split >= 0 ? decoded.substring(split + 1) : "";
+        if (split < 0 || !ObjectId.isValid(id)) {
+            throw new IllegalArgumentException("❌ Invalid cursor.");
+        }
+        String startMillis = decoded.substring(0, split);
+        ObjectId lastId = new ObjectId(id);
+
+        if (startMillis.isEmpty()) {
+            return new Criteria().andOperator(
+                    Criteria.where("eventStart").is(null),
+                    Criteria.where("_id").lt(lastId));
+        }
+
+        Instant start;
+        try {
+            start = Instant.ofEpochMilli(Long.parseLong(startMillis));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("❌ Invalid cursor.");
+        }
+
+        return new Criteria().orOperator(
+                Criteria.where("eventStart").lt(start),
+                new Criteria().andOperator(
+                        Criteria.where("eventStart").is(start),
+                        Criteria.where("_id").lt(lastId)),
+                Criteria.where("eventStart").is(null));
+    }
+
+    /**
+     * ✅ Next events that haven't started yet, soonest first (Public)
+     * Range scan on the eventStart index — the home screen asks for the next few only.
+     */
+    public List<EventSummary> getUpcomingEvents(int limit) {
+        Query query = new Query(Criteria.where("eventStart").gt(Instant.now()))
+                .with(Sort.by(Sort.Direction.ASC, "eventStart"))
+                .limit(Math.max(1, Math.min(limit, MAX_FEED_PAGE_SIZE)));
+        return findSummaries(query);
+    }
+
+    /**
+     * ✅ Events running right now (Public)
+     * Range scan on the (eventEnd, eventStart) index: only events that haven't ended are visited.
+     */
+    public List<EventSummary> getOngoingEvents(int limit) {
+        Instant now = Instant.now();
+        Query query = new Query(Criteria.where("eventEnd").gt(now).and("eventStart").lte(now))
+                .with(Sort.by(Sort.Direction.ASC, "eventEnd"))
+                .limit(Math.max(1, Math.min(limit, MAX_FEED_PAGE_SIZE)));
+        return findSummaries(query);
+    }
+
+    private List<EventSummary> findSummaries(Query query) {
+        includeSummaryFields(query);
+
+        List<EventSummary> summaries = new ArrayList<>();
+        for (EventModel event : mongoTemplate.find(query, EventModel.class)) {
+            summaries.add(toSummary(event));
+        }
+        return summaries;
+    }
+
+    // Card fields only — everything EventSummary needs, nothing else
+    private static void includeSummaryFields(Query query) {
+        query.fields()
+                .include("eventTitle")
+                .include("eventShortDescription")
+                .include("eventDate")
+                .include("eventStart")
+                .include("eventEnd")
+                .include("eventLocation")
+                .include("eventCategory")
+                .include("allStudentAttending")
+                .include("eventImageId");
+    }
+
+    /**
+     * 🕒 Fill eventStart / eventEnd from the free-form date, time and length strings.
+     * Left null when the date can't be read.
+     */
+    private void applySchedule(EventModel event) {
+        Instant start = EventTimes.parseStart(event.getEventDate(), event.getEventTime(), eventZone);
+        event.setEventStart(start);
+        event.setEventEnd(EventTimes.parseEnd(start, event.getEventTimeLength(), eventZone));
+
+        if (start == null && event.getEventDate() != null) {
+            System.out.println("⚠️ Could not read event date '" + event.getEventDate() + "' for: " + event.getEventTitle());
+        }
+    }
+
+    private EventSummary toSummary(EventModel event) {
+        EventSummary summary = new EventSummary();
+        summary.setId(event.getId());
+        summary.setEventTitle(event.getEventTitle());
+        summary.setEventShortDescription(event.getEventShortDescription());
+        summary.setEventDate(event.getEventDate());
+        summary.setEventStart(event.getEventStart());
+        summary.setEventEnd(event.getEventEnd());
+        summary.setEventLocation(event.getEventLocation());
+        summary.setEventCategory(event.getEventCategory());
+        summary.setAllStudentAttending(event.getAllStudentAttending());
+
+        // 🖼️ Image URL based on the deployed backend — card-sized variant for the list view
+        if (event.getEventImageId() != null && !event.getEventImageId().isEmpty()) {
+            summary.setEventImageUrl(imageBaseUrl + event.getEventImageId() + "?size=card");
+        }
+        return summary;
+    }
+
     /**
      * ✅ Get a single event by ID
      */
@@ -352,43 +733,38 @@ public class EventService {
         System.out.println("ID: " + id);
         System.out.println("Role: " + role);
 
-        EventModel existingEvent = eventRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("❌ Event not found"));
-
-        System.out.println("Event Found: " + existingEvent.getEventTitle());
-        // 1️⃣ Find existing event
-//        EventModel existingEvent = eventRepository.findById(id)
-//                .orElseThrow(() -> new RuntimeException("❌ Event not found"));
-
         if (role == null) {
             throw new SecurityException("No role found");
         }
 
+        // Only the editable fields are $set, so attendance and evaluations pushed
+        // in the meantime are never overwritten by a stale copy of the document.
+        Update update = new Update();
+
     /* =========================================================
        🟢 ADMIN - Can update almost everything
     ========================================================= */
         if (role.equalsIgnoreCase("ADMIN")) {
 
-            existingEvent.setWhoPostedName(newEvent.getWhoPostedName());
-            existingEvent.setEventTitle(newEvent.getEventTitle());
-            existingEvent.setEventShortDescription(newEvent.getEventShortDescription());
-            existingEvent.setEventBody(newEvent.getEventBody());
-            existingEvent.setEventDate(newEvent.getEventDate());
-            existingEvent.setEventTime(newEvent.getEventTime());
-            existingEvent.setEventTimeLength(newEvent.getEventTimeLength());
-            existingEvent.setEventLocation(newEvent.getEventLocation());
-            existingEvent.setEventCategory(newEvent.getEventCategory());
-            existingEvent.setEventOrganizer(newEvent.getEventOrganizer());
-            existingEvent.setEventImageId(newEvent.getEventImageId());
-            existingEvent.setEventAgendas(newEvent.getEventAgendas());
-            existingEvent.setEvaluationQuestions(newEvent.getEvaluationQuestions());
-            existingEvent.setEvaluationStart(newEvent.getEvaluationStart());
-            existingEvent.setEvaluationEnd(newEvent.getEvaluationEnd());
+            update.set("whoPostedName", newEvent.getWhoPostedName())
+                    .set("eventTitle", newEvent.getEventTitle())
+                    .set("eventShortDescription", newEvent.getEventShortDescription())
+                    .set("eventBody", newEvent.getEventBody())
+                    .set("eventDate", newEvent.getEventDate())
+                    .set("eventTime", newEvent.getEventTime())
+                    .set("eventTimeLength", newEvent.getEventTimeLength())
+                    .set("eventLocation", newEvent.getEventLocation())
+                    .set("eventCategory", newEvent.getEventCategory())
+                    .set("eventOrganizer", newEvent.getEventOrganizer())
+                    .set("eventAgendas", newEvent.getEventAgendas())
+                    .set("evaluationQuestions", newEvent.getEvaluationQuestions())
+                    .set("evaluationStart", newEvent.getEvaluationStart())
+                    .set("evaluationEnd", newEvent.getEvaluationEnd());
 
             // ❌ Do NOT update:
-            // eventAttendances
-            // eventEvaluationDetails
+            // attendanceCount
             // allStudentAttending
+            // eventImageId (only the image upload swaps it)
         }
 
     /* =========================================================
@@ -396,23 +772,22 @@ public class EventService {
     ========================================================= */
         else if (role.equalsIgnoreCase("OFFICER")) {
 
-            existingEvent.setEventTitle(newEvent.getEventTitle());
-            existingEvent.setEventShortDescription(newEvent.getEventShortDescription());
-            existingEvent.setEventBody(newEvent.getEventBody());
-            existingEvent.setEventDate(newEvent.getEventDate());
-            existingEvent.setEventTime(newEvent.getEventTime());
-            existingEvent.setEventTimeLength(newEvent.getEventTimeLength());
-            existingEvent.setEventLocation(newEvent.getEventLocation());
-            existingEvent.setEventCategory(newEvent.getEventCategory());
-            existingEvent.setEventImageId(newEvent.getEventImageId());
-            existingEvent.setEventAgendas(newEvent.getEventAgendas());
+            update.set("eventTitle", newEvent.getEventTitle())
+                    .set("eventShortDescription", newEvent.getEventShortDescription())
+                    .set("eventBody", newEvent.getEventBody())
+                    .set("eventDate", newEvent.getEventDate())
+                    .set("eventTime", newEvent.getEventTime())
+                    .set("eventTimeLength", newEvent.getEventTimeLength())
+                    .set("eventLocation", newEvent.getEventLocation())
+                    .set("eventCategory", newEvent.getEventCategory())
+                    .set("eventAgendas", newEvent.getEventAgendas());
 
             // 🚫 Officer CANNOT modify:
+            // eventImageId (only the image upload swaps it)
             // whoPostedName
             // eventOrganizer
             // evaluationQuestions
-            // eventAttendances
-            // eventEvaluationDetails
+            // attendanceCount
             // allStudentAttending
         }
 
@@ -420,7 +795,24 @@ public class EventService {
             throw new SecurityException("🚫 Unauthorized role");
         }
 
-        return eventRepository.save(existingEvent);
+        // 🕒 Both roles edit date / time / length, so the normalized range follows
+        applySchedule(newEvent);
+        update.set("eventStart", newEvent.getEventStart())
+                .set("eventEnd", newEvent.getEventEnd());
+
+        EventModel updated = mongoTemplate.findAndModify(
+                new Query(Criteria.where("_id").is(id)),
+                update,
+                FindAndModifyOptions.options().returnNew(true),
+                EventModel.class);
+
+        if (updated == null) {
+            throw new RuntimeException("❌ Event not found");
+        }
+        eventFeedCache.bumpVersion();
+
+        System.out.println("Event Updated: " + updated.getEventTitle());
+        return updated;
     }
 
     /**
@@ -429,20 +821,22 @@ public class EventService {
      */
     public EventModel updateAllStudentAttending(String eventId, int newCount, String requester, String role) {
         try {
-            Optional<EventModel> eventOpt = eventRepository.findById(eventId);
-            if (eventOpt.isEmpty()) {
-                throw new RuntimeException("❌ Event not found with ID: " + eventId);
-            }
-
             if (!"STUDENT".equalsIgnoreCase(role)
                     && !"OFFICER".equalsIgnoreCase(role)
                     && !"ADMIN".equalsIgnoreCase(role)) {
                 throw new RuntimeException("🚫 Unauthorized: Only student, officer, or admin can update this field.");
             }
 
-            EventModel event = eventOpt.get();
-            event.setAllStudentAttending(newCount);
-            eventRepository.save(event);
+            EventModel event = mongoTemplate.findAndModify(
+                    new Query(Criteria.where("_id").is(eventId)),
+                    new Update().set("allStudentAttending", newCount),
+                    FindAndModifyOptions.options().returnNew(true),
+                    EventModel.class);
+
+            if (event == null) {
+                throw new RuntimeException("❌ Event not found with ID: " + eventId);
+            }
+            eventFeedCache.bumpVersion();
 
             System.out.println("✅ Updated allStudentAttending to " + newCount + " by " + role + " (" + requester + ")");
             return event;
@@ -458,8 +852,11 @@ public class EventService {
 
     /**
      * ✅ Add a student's attendance to an event (OFFICER or ADMIN only)
+     * One insert into eventAttendance (the unique index makes re-scans a no-op) and one $inc of the
+     * event's attendanceCount that returns only the counter, so the event document is never read
+     * into the app on the scan path.
      */
-    public EventModel addEventAttendance(String eventId, EventAttendance attendance, String token) {
+    public AttendanceScanResult addEventAttendance(String eventId, EventAttendance attendance, String token) {
         try {
             // 🧹 1️⃣ Clean up the token — remove "Bearer " prefix if it exists
             String cleanToken = token;
@@ -475,31 +872,50 @@ public class EventService {
                 throw new RuntimeException("🚫 Unauthorized: Only OFFICER or ADMIN can add attendance.");
             }
 
-            // 🔍 4️⃣ Fetch event by ID
-            Optional<EventModel> eventOpt = eventRepository.findById(eventId);
-            if (eventOpt.isEmpty()) {
-                System.out.println("❌ Event not found with ID: " + eventId);
-                throw new RuntimeException("❌ Event not found with ID: " + eventId);
+            if (attendance == null || attendance.getStudentId() == null || attendance.getStudentId().trim().isEmpty()) {
+                throw new RuntimeException("❌ Attendance must include a studentId.");
             }
 
-            EventModel event = eventOpt.get();
+            String studentId = attendance.getStudentId();
+
+            // ➕ 4️⃣ Insert; the (eventId, studentId) unique index rejects a re-scan
+            EventAttendanceModel record = toAttendanceRecord(eventId, attendance);
+            try {
+                mongoTemplate.insert(record);
+            } catch (DuplicateKeyException duplicate) {
+                Query countOnly = new Query(Criteria.where("_id").is(eventId));
+                countOnly.fields().include("attendanceCount");
+                EventModel existing = mongoTemplate.findOne(countOnly, EventModel.class);
+
+                if (existing == null) {
+                    throw new RuntimeException("❌ Event not found with ID: " + eventId);
+                }
 
-            // 🧾 5️⃣ Initialize attendance list if null
-            if (event.getEventAttendances() == null) {
-                event.setEventAttendances(new ArrayList<>());
+                System.out.println("ℹ️ Already attended: " + studentId);
+                return new AttendanceScanResult(eventId, studentId, false, existing.getAttendanceCount());
             }
 
-            // ➕ 6️⃣ Add attendance record
-            event.getEventAttendances().add(attendance);
+            // 🔢 5️⃣ Bump the counter; only the counter comes back
+            Query query = new Query(Criteria.where("_id").is(eventId));
+            query.fields().include("attendanceCount");
 
-            // 💾 7️⃣ Save updated event
-            eventRepository.save(event);
+            EventModel counted = mongoTemplate.findAndModify(
+                    query,
+                    new Update().inc("attendanceCount", 1),
+                    FindAndModifyOptions.options().returnNew(true),
+                    EventModel.class);
 
-            System.out.println("✅ Attendance added for event: " + event.getEventTitle());
-            return event;
+            if (counted == null) {
+                mongoTemplate.remove(record);
+                System.out.println("❌ Event not found with ID: " + eventId);
+                throw new RuntimeException("❌ Event not found with ID: " + eventId);
+            }
+
+            System.out.println("✅ Attendance added for event " + eventId + " (" + counted.getAttendanceCount() + ")");
+            return new AttendanceScanResult(eventId, studentId, true, counted.getAttendanceCount());
 
         } catch (Exception e) {
-            // 🧨 8️⃣ Detailed logging
+            // 🧨 6️⃣ Detailed logging
             System.out.println("❌ Error adding attendance: " + e.getMessage());
 
             throw new RuntimeException("❌ Error adding attendance: " + e.getMessage(), e);
@@ -507,17 +923,77 @@ public class EventService {
     }
 
 
+    /**
+     * ✅ One page of an event's attendance, oldest scan first (OFFICER or ADMIN only)
+     * Keyset paging on _id through the (eventId, _id) index: pass the previous page's nextCursor as {@code after}.
+     */
+    public CursorPage<EventAttendanceModel> getEventAttendances(String eventId, String after, int limit, String token) {
+        String cleanToken = token;
+        if (token != null && token.startsWith("Bearer ")) {
+            cleanToken = token.substring(7).trim();
+        }
+
+        String role = jwtService.getRoleFromToken(cleanToken);
+        if (!"OFFICER".equalsIgnoreCase(role) && !"ADMIN".equalsIgnoreCase(role)) {
+            throw new RuntimeException("🚫 Unauthorized: Only OFFICER or ADMIN can view attendance.");
+        }
+
+        int pageSize = Math.max(1, Math.min(limit, MAX_ATTENDANCE_PAGE_SIZE));
+
+        Criteria criteria = Criteria.where("eventId").is(eventId);
+        if (after != null && !after.isBlank()) {
+            if (!ObjectId.isValid(after)) {
+                throw new RuntimeException("❌ Invalid cursor.");
+            }
+            criteria = criteria.and("_id").gt(new ObjectId(after));
+        }
+
+        // One extra row tells us whether there is a next page
+        Query query = new Query(criteria)
+                .with(Sort.by(Sort.Direction.ASC, "_id"))
+                .limit(pageSize + 1);
+
+        List<EventAttendanceModel> rows = mongoTemplate.find(query, EventAttendanceModel.class);
+
+        String nextCursor = null;
+        if (rows.size() > pageSize) {
+            rows = new ArrayList<>(rows.subList(0, pageSize));
+            nextCursor = rows.get(pageSize - 1).getId();
+        }
+
+        return new CursorPage<>(rows, nextCursor);
+    }
+
+    /**
+     * ✅ Number of attendance records for an event (OFFICER or ADMIN only; counted on the eventId index)
+     */
+    public long countEventAttendances(String eventId, String token) {
+        String cleanToken = token;
+        if (token != null && token.startsWith("Bearer ")) {
+            cleanToken = token.substring(7).trim();
+        }
+
+        String role = jwtService.getRoleFromToken(cleanToken);
+        if (!"OFFICER".equalsIgnoreCase(role) && !"ADMIN".equalsIgnoreCase(role)) {
+            throw new RuntimeException("🚫 Unauthorized: Only OFFICER or ADMIN can view attendance.");
+        }
+
+        return eventAttendanceRepository.countByEventId(eventId);
+    }
+
+
     /**
      * ✅ Add evaluation for an event (STUDENT, OFFICER, or ADMIN)
+     * Reads only the event's title and evaluation window; the submission goes to the
+     * eventEvaluation collection and the rating totals are updated with $inc.
+     * A student can only submit for themselves; OFFICER / ADMIN may name the student in the body.
+     * @throws DuplicateKeyException (→ 409) when that student already evaluated the event —
+     *         checked on the (eventId, studentId) index before the event is read
      */
-    public EventModel addEventEvaluation(String eventId, EventEvaluationDetails evaluation, String role) {
+    public EventModel addEventEvaluation(String eventId, EventEvaluationDetails evaluation, JwtPrincipal principal) {
 
         try {
-            Optional<EventModel> eventOpt = eventRepository.findById(eventId);
-            if (eventOpt.isEmpty()) {
-                System.out.println("❌ Event not found with ID: " + eventId);
-                return null;
-            }
+            String role = principal != null ? principal.getRole() : null;
 
             if (!"STUDENT".equalsIgnoreCase(role)
                     && !"OFFICER".equalsIgnoreCase(role)
@@ -525,7 +1001,26 @@ public class EventService {
                 throw new RuntimeException("🚫 Unauthorized: Only student, officer, or admin can add evaluations.");
             }
 
-            EventModel event = eventOpt.get();
+            String studentId = evaluation.getStudentId();
+            if ("STUDENT".equalsIgnoreCase(role) || studentId == null || studentId.isBlank()) {
+                studentId = studentDetailsService.findAuthSnapshot(principal.getSubject())
+                        .map(StudentAuthView::getId)
+                        .orElseThrow(() -> new RuntimeException("❌ Student not found."));
+            }
+
+            eventEvaluationService.rejectIfAlreadyEvaluated(eventId, studentId);
+
+            Query eventQuery = new Query(Criteria.where("_id").is(eventId));
+            eventQuery.fields()
+                    .include("eventTitle")
+                    .include("evaluationStart")
+                    .include("evaluationEnd");
+
+            EventModel event = mongoTemplate.findOne(eventQuery, EventModel.class);
+            if (event == null) {
+                System.out.println("❌ Event not found with ID: " + eventId);
+                return null;
+            }
 
             // Check evaluation schedule
             Instant now = Instant.now();
@@ -538,21 +1033,7 @@ public class EventService {
                 throw new RuntimeException("⌛ Evaluation period has already ended.");
             }
 
-            if (event.getEventEvaluationDetails() == null) {
-                event.setEventEvaluationDetails(new ArrayList<>());
-            }
-
-            boolean alreadyExists = event.getEventEvaluationDetails().stream()
-                    .anyMatch(detail -> detail.getStudentName()
-                            .equalsIgnoreCase(evaluation.getStudentName()));
-
-            if (alreadyExists) {
-                System.out.println("⚠️ Evaluation already exists for student: " + evaluation.getStudentName());
-                return event;
-            }
-
-            event.getEventEvaluationDetails().add(evaluation);
-            eventRepository.save(event);
+            eventEvaluationService.recordEvaluation(eventId, studentId, evaluation);
 
             System.out.println("✅ Evaluation added by " + role + " for event: " + event.getEventTitle());
             return event;
@@ -603,8 +1084,19 @@ public void removeEventFromAllStudents(String eventId) {
                 //student related data in delete
                 removeEventFromAllStudents(id);
 
-                //Admin access (delete event by id)
-                eventRepository.deleteById(id);
+                //Admin access (delete event by id) — keep its image id to remove the poster too
+                Query byId = new Query(Criteria.where("_id").is(id));
+                byId.fields().include("eventImageId");
+                EventModel removed = mongoTemplate.findAndRemove(byId, EventModel.class);
+
+                eventAttendanceRepository.deleteByEventId(id);
+                eventEvaluationService.deleteForEvent(id);
+                eventFeedCache.bumpVersion();
+
+                // 🖼️ The GridFS file has its own id: delete it (and its variants) and evict its cached bytes by that id
+                if (removed != null && removed.getEventImageId() != null && !removed.getEventImageId().isEmpty()) {
+                    eventImageService.deleteImage(removed.getEventImageId());
+                }
 
 
                 System.out.println("🗑️ Event deleted with ID: " + id);
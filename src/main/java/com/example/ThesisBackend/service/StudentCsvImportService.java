@@ -0,0 +1,145 @@
+package com.example.ThesisBackend.service;
+
+import com.example.ThesisBackend.Model.StudentModel;
+import com.example.ThesisBackend.studentUtils.StudentImportJob;
+import com.example.ThesisBackend.studentUtils.StudentImportReport;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * 📄 StudentCsvImportService
+ * ----------------------------------------------------------
+ * Background import of a CSV roster:
+ *  - the upload is spooled to a temp file, then read as a stream
+ *  - rows are validated, hashed and written in fixed-size batches through StudentImportService
+ *  - progress is kept in a {@link StudentImportJob} the admin UI can poll
+ * The whole roster is never held in memory as a list.
+ */
+@Service
+public class StudentCsvImportService {
+
+    @Autowired
+    private StudentImportService studentImportService;
+
+    @Value("${students.import.csvBatchSize:500}")
+    private int batchSize;
+
+    // Problem rows kept per job (counters always cover every row)
+    @Value("${students.import.maxReportedRows:500}")
+    private int maxReportedRows;
+
+    // 🗂️ Recent jobs, forgotten a while after they were started
+    private final Cache<String, StudentImportJob> jobs = Caffeine.newBuilder()
+            .maximumSize(100)
+            .expireAfterWrite(Duration.ofHours(6))
+            .build();
+
+    // One import at a time; further uploads wait their turn as QUEUED
+    private final ExecutorService importRunner = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "student-csv-import");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * ✅ Spool the upload to disk and queue the import. Returns immediately.
+     */
+    public StudentImportJob startImport(MultipartFile file) throws IOException {
+        if (file == null || file.isEmpty()) {
+            throw new IllegalArgumentException("❌ CSV file is empty");
+        }
+
+        Path spooled = Files.createTempFile("student-roster-", ".csv");
+        file.transferTo(spooled);
+
+        StudentImportJob job = new StudentImportJob(
+                UUID.randomUUID().toString(),
+                file.getOriginalFilename(),
+                new StudentImportReport(maxReportedRows, true)
+        );
+        jobs.put(job.getJobId(), job);
+
+        importRunner.submit(() -> run(job, spooled));
+        System.out.println("📥 Queued student CSV import " + job.getJobId() + " (" + file.getOriginalFilename() + ")");
+        return job;
+    }
+
+    public Optional<StudentImportJob> getJob(String jobId) {
+        return Optional.ofNullable(jobs.getIfPresent(jobId));
+    }
+
+    private void run(StudentImportJob job, Path spooled) {
+        job.setState(StudentImportJob.RUNNING);
+
+        try (BufferedReader in = Files.newBufferedReader(spooled, StandardCharsets.UTF_8);
+             StudentCsvReader csv = new StudentCsvReader(in)) {
+
+            Set<String> seenNumbers = new HashSet<>();
+            List<StudentModel> batch = new ArrayList<>(batchSize);
+            int rowsRead = 0;
+            int batchFirstRow = 1;
+
+            StudentModel student;
+            while ((student = csv.next()) != null) {
+                batch.add(student);
+                rowsRead++;
+
+                if (batch.size() == batchSize) {
+                    studentImportService.importBatch(batch, batchFirstRow, seenNumbers, job.getReport());
+                    job.setRowsRead(rowsRead);
+                    batch = new ArrayList<>(batchSize);
+                    batchFirstRow = rowsRead + 1;
+                }
+            }
+
+            if (!batch.isEmpty()) {
+                studentImportService.importBatch(batch, batchFirstRow, seenNumbers, job.getReport());
+            }
+            job.setRowsRead(rowsRead);
+            job.setState(StudentImportJob.COMPLETED);
+            job.setMessage("✅ Imported " + job.getReport().getCreated() + " of " + rowsRead + " rows");
+
+        } catch (Exception e) {
+            System.out.println("❌ Student CSV import " + job.getJobId() + " failed: " + e.getMessage());
+            job.setState(StudentImportJob.FAILED);
+            job.setMessage("❌ " + e.getMessage());
+        } finally {
+            job.setFinishedAt(Instant.now());
+            try {
+                Files.deleteIfExists(spooled);
+            } catch (IOException e) {
+                System.out.println("⚠️ Could not delete spooled roster " + spooled + ": " + e.getMessage());
+            }
+        }
+
+        System.out.println("📥 Student CSV import " + job.getJobId() + " " + job.getState()
+                + ": " + job.getReport().getCreated() + " created, " + job.getReport().getSkipped()
+                + " skipped, " + job.getReport().getFailed() + " failed");
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        importRunner.shutdownNow();
+    }
+}
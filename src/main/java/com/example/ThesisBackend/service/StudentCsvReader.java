@@ -0,0 +1,139 @@
+package com.example.ThesisBackend.service;
+
+import com.example.ThesisBackend.Model.StudentModel;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * 📄 Reads a student roster CSV one record at a time (RFC 4180 quoting, header row required).
+ * Recognised columns: studentNumber, studentPassword (or password), studentName, course, department.
+ */
+class StudentCsvReader implements Closeable {
+
+    private final Reader reader;
+    private final Map<String, Integer> columns = new HashMap<>();
+    private int pushedBack = -2;
+    private int recordNumber;
+
+    StudentCsvReader(Reader reader) throws IOException {
+        this.reader = reader;
+
+        List<String> header = readRecord();
+        if (header == null) {
+            throw new IllegalArgumentException("❌ CSV file is empty");
+        }
+        for (int i = 0; i < header.size(); i++) {
+            columns.put(normalize(header.get(i)), i);
+        }
+        if (!columns.containsKey("studentnumber")) {
+            throw new IllegalArgumentException("❌ CSV header must contain a studentNumber column");
+        }
+        if (!columns.containsKey("studentpassword") && columns.containsKey("password")) {
+            columns.put("studentpassword", columns.get("password"));
+        }
+    }
+
+    /**
+     * ✅ Next student row, or null at end of file. Blank lines are skipped.
+     */
+    StudentModel next() throws IOException {
+        List<String> record;
+        do {
+            record = readRecord();
+            if (record == null) {
+                return null;
+            }
+        } while (record.size() == 1 && record.get(0).isBlank());
+
+        StudentModel student = new StudentModel();
+        student.setStudentNumber(value(record, "studentnumber"));
+        student.setStudentPassword(value(record, "studentpassword"));
+        student.setStudentName(value(record, "studentname"));
+        student.setCourse(value(record, "course"));
+        student.setDepartment(value(record, "department"));
+        return student;
+    }
+
+    private String value(List<String> record, String column) {
+        Integer index = columns.get(column);
+        if (index == null || index >= record.size()) {
+            return null;
+        }
+        String value = record.get(index).trim();
+        return value.isEmpty() ? null : value;
+    }
+
+    private List<String> readRecord() throws IOException {
+        int c = read();
+        if (c == -1) {
+            return null;
+        }
+
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+
+        while (true) {
+            if (quoted) {
+                if (c == -1) {
+                    throw new IllegalArgumentException("❌ Unterminated quoted field in CSV record " + (recordNumber + 1));
+                }
+                if (c == '"') {
+                    int next = read();
+                    if (next == '"') {
+                        field.append('"');
+                    } else {
+                        quoted = false;
+                        c = next;
+                        continue;
+                    }
+                } else {
+                    field.append((char) c);
+                }
+            } else if (c == '"' && field.isEmpty()) {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else if (c == '\r' || c == '\n' || c == -1) {
+                if (c == '\r') {
+                    int next = read();
+                    if (next != '\n') {
+                        pushedBack = next;
+                    }
+                }
+                fields.add(field.toString());
+                recordNumber++;
+                return fields;
+            } else {
+                field.append((char) c);
+            }
+            c = read();
+        }
+    }
+
+    private int read() throws IOException {
+        if (pushedBack != -2) {
+            int c = pushedBack;
+            pushedBack = -2;
+            return c;
+        }
+        return reader.read();
+    }
+
+    private static String normalize(String header) {
+        return header.replace("\uFEFF", "").trim().toLowerCase(Locale.ROOT);
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+}
@@ -0,0 +1,276 @@
+package com.example.ThesisBackend.service;
+
+import com.example.ThesisBackend.Model.StudentModel;
+import com.example.ThesisBackend.studentUtils.OfficerCredentials;
+import com.example.ThesisBackend.studentUtils.StudentImportReport;
+import com.example.ThesisBackend.studentUtils.StudentImportResult;
+import com.mongodb.bulk.BulkWriteError;
+import jakarta.annotation.PreDestroy;
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 📥 StudentImportService
+ * ----------------------------------------------------------
+ * Set-based roster import used by the admin bulk endpoints:
+ *  - one $in query per batch to find student numbers that already exist
+ *  - BCrypt hashing fanned out across a small bounded pool (half the cores by default)
+ *  - unordered bulk inserts in fixed-size chunks
+ * Every row ends up in the {@link StudentImportReport}.
+ */
+@Service
+public class StudentImportService {
+
+    // Mongo duplicate key error
+    private static final int DUPLICATE_KEY = 11000;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Value("${students.import.insertChunkSize:500}")
+    private int insertChunkSize;
+
+    // 🔐 Import hashing shares the cores with login's BCrypt pool (PasswordVerificationService), so it
+    // only gets part of them: at most students.import.hashThreads workers (default half the cores)
+    // plus the importing thread itself, which hashes when the bounded queue is full instead of
+    // queueing a whole roster. Logins still slow down during a large import, but keep free cores.
+    private final ThreadPoolExecutor hashingPool;
+
+    public StudentImportService(@Value("${students.import.hashThreads:0}") int hashThreads,
+                                @Value("${students.import.hashQueueCapacity:64}") int hashQueueCapacity) {
+        int poolSize = hashThreads > 0 ? hashThreads : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        this.hashingPool = new ThreadPoolExecutor(
+                poolSize,
+                poolSize,
+                60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(hashQueueCapacity),
+                new ImportThreadFactory(),
+                new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+
+    /**
+     * ✅ Import a whole roster and report the outcome of every row
+     */
+    public StudentImportReport importStudents(List<StudentModel> students) {
+        StudentImportReport report = new StudentImportReport();
+        importBatch(students, 1, new HashSet<>(), report);
+        System.out.println("✅ Student import finished: " + report.getCreated() + " created, "
+                + report.getSkipped() + " skipped, " + report.getFailed() + " failed");
+        return report;
+    }
+
+    /**
+     * ✅ Import one batch of rows.
+     *
+     * @param firstRow      row number of {@code batch.get(0)} (for the report)
+     * @param seenNumbers   student numbers already handled earlier in the same upload
+     * @return the students that were inserted
+     */
+    public List<StudentModel> importBatch(List<StudentModel> batch, int firstRow,
+                                          Set<String> seenNumbers, StudentImportReport report) {
+
+        // 1️⃣ Validate + drop duplicates inside the upload
+        List<StudentModel> candidates = new ArrayList<>();
+        List<Integer> candidateRows = new ArrayList<>();
+
+        for (int i = 0; i < batch.size(); i++) {
+            StudentModel student = batch.get(i);
+            int row = firstRow + i;
+
+            String problem = validate(student);
+            if (problem != null) {
+                report.add(new StudentImportResult(row, student != null ? student.getStudentNumber() : null,
+                        StudentImportResult.INVALID, problem));
+                continue;
+            }
+
+            student.setStudentNumber(student.getStudentNumber().trim());
+            if (!seenNumbers.add(student.getStudentNumber())) {
+                report.add(new StudentImportResult(row, student.getStudentNumber(),
+                        StudentImportResult.DUPLICATE_IN_UPLOAD, "⚠ Student number appears more than once"));
+                continue;
+            }
+
+            candidates.add(student);
+            candidateRows.add(row);
+        }
+
+        if (candidates.isEmpty()) {
+            return List.of();
+        }
+
+        // 2️⃣ One $in round trip for the whole batch
+        Set<String> existing = findExistingStudentNumbers(candidates);
+
+        List<StudentModel> toInsert = new ArrayList<>();
+        List<Integer> toInsertRows = new ArrayList<>();
+        for (int i = 0; i < candidates.size(); i++) {
+            StudentModel student = candidates.get(i);
+            if (existing.contains(student.getStudentNumber())) {
+                report.add(new StudentImportResult(candidateRows.get(i), student.getStudentNumber(),
+                        StudentImportResult.ALREADY_EXISTS, "⚠ Student already exists"));
+            } else {
+                toInsert.add(student);
+                toInsertRows.add(candidateRows.get(i));
+            }
+        }
+
+        // 3️⃣ Hash passwords in parallel
+        hashPasswords(toInsert);
+
+        // 4️⃣ Unordered bulk inserts in chunks
+        List<StudentModel> inserted = new ArrayList<>();
+        for (int from = 0; from < toInsert.size(); from += insertChunkSize) {
+            int to = Math.min(from + insertChunkSize, toInsert.size());
+            inserted.addAll(insertChunk(toInsert.subList(from, to), toInsertRows.subList(from, to), report));
+        }
+
+        return inserted;
+    }
+
+    private String validate(StudentModel student) {
+        if (student == null) {
+            return "❌ Empty row";
+        }
+        if (student.getStudentNumber() == null || student.getStudentNumber().trim().isEmpty()) {
+            return "❌ Missing student number";
+        }
+        if (student.getStudentPassword() == null || student.getStudentPassword().isEmpty()) {
+            return "❌ Missing password";
+        }
+        return null;
+    }
+
+    private Set<String> findExistingStudentNumbers(List<StudentModel> students) {
+        List<String> numbers = students.stream().map(StudentModel::getStudentNumber).toList();
+
+        Query query = new Query(Criteria.where("studentNumber").in(numbers));
+        query.fields().include("studentNumber");
+
+        Set<String> existing = new HashSet<>();
+        for (StudentModel found : mongoTemplate.find(query, StudentModel.class)) {
+            existing.add(found.getStudentNumber());
+        }
+        return existing;
+    }
+
+    private void hashPasswords(List<StudentModel> students) {
+        List<CompletableFuture<Void>> hashes = new ArrayList<>(students.size());
+        for (StudentModel student : students) {
+            String rawPassword = student.getStudentPassword();
+            hashes.add(CompletableFuture.runAsync(
+                    () -> student.setStudentPassword(passwordEncoder.encode(rawPassword)),
+                    hashingPool));
+        }
+        CompletableFuture.allOf(hashes.toArray(new CompletableFuture[0])).join();
+    }
+
+    private List<StudentModel> insertChunk(List<StudentModel> chunk, List<Integer> rows, StudentImportReport report) {
+        for (StudentModel student : chunk) {
+            prepareNewStudent(student);
+        }
+
+        // Index in chunk -> error, for rows the server refused
+        BulkWriteError[] errors = new BulkWriteError[chunk.size()];
+        try {
+            BulkOperations ops = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, StudentModel.class);
+            ops.insert(new ArrayList<>(chunk));
+            ops.execute();
+        } catch (BulkOperationException e) {
+            for (BulkWriteError error : e.getErrors()) {
+                errors[error.getIndex()] = error;
+            }
+        } catch (RuntimeException e) {
+            System.out.println("❌ Bulk insert failed: " + e.getMessage());
+            for (int i = 0; i < chunk.size(); i++) {
+                report.add(new StudentImportResult(rows.get(i), chunk.get(i).getStudentNumber(),
+                        StudentImportResult.FAILED, "❌ " + e.getMessage()));
+            }
+            return List.of();
+        }
+
+        List<StudentModel> inserted = new ArrayList<>();
+        for (int i = 0; i < chunk.size(); i++) {
+            StudentModel student = chunk.get(i);
+            BulkWriteError error = errors[i];
+
+            if (error == null) {
+                StudentImportResult result = new StudentImportResult(rows.get(i), student.getStudentNumber(),
+                        StudentImportResult.CREATED, "✅ Student registered");
+                result.setStudentId(student.getId());
+                report.add(result);
+                inserted.add(student);
+            } else if (error.getCode() == DUPLICATE_KEY) {
+                // Registered by someone else between the $in lookup and the insert
+                report.add(new StudentImportResult(rows.get(i), student.getStudentNumber(),
+                        StudentImportResult.ALREADY_EXISTS, "⚠ Student already exists"));
+            } else {
+                report.add(new StudentImportResult(rows.get(i), student.getStudentNumber(),
+                        StudentImportResult.FAILED, "❌ " + error.getMessage()));
+            }
+        }
+        return inserted;
+    }
+
+    /**
+     * ✅ Same defaults as a single registration: plain STUDENT with no officer rights
+     */
+    private void prepareNewStudent(StudentModel student) {
+        student.setId(new ObjectId().toHexString());
+        student.setRole("STUDENT");
+
+        if (student.getOfficerCredentials() == null) {
+            student.setOfficerCredentials(new OfficerCredentials());
+        }
+
+        student.getOfficerCredentials().setCanAddEvent(false);
+        student.getOfficerCredentials().setCanEditEvent(false);
+        student.getOfficerCredentials().setCanScanStudent(false);
+        student.getOfficerCredentials().setCanAddStudent(false);
+
+        student.setNotificationId("");
+        student.setStudentUpcomingEvents(new ArrayList<>());
+        student.setStudentEventAttended(new ArrayList<>());
+        student.setStudentRecentEvaluations(new ArrayList<>());
+        student.setStudentNotifications(new ArrayList<>());
+        student.setStudentEventAttendedAndEvaluationDetails(new ArrayList<>());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        hashingPool.shutdown();
+    }
+
+    private static final class ImportThreadFactory implements ThreadFactory {
+        private final AtomicInteger count = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "bcrypt-import-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
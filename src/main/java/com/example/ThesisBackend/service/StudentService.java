@@ -3,6 +3,7 @@ package com.example.ThesisBackend.service;
 import com.example.ThesisBackend.Model.StudentModel;
 import com.example.ThesisBackend.repository.StudentRepository;
 import com.example.ThesisBackend.security.JWTService;
+import com.example.ThesisBackend.security.JwtPrincipal;
 import com.example.ThesisBackend.studentUtils.*;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
@@ -289,14 +290,15 @@ public class StudentService {
 
         System.out.println("🧽 Clean token: [" + token + "]");
 
-        // 🔒 Validate token
-        if (token.isEmpty() || !jwtService.validateToken(token)) {
+        // 🔒 Validate token (claims already verified by JwtAuthenticationFilter)
+        JwtPrincipal principal = jwtService.resolvePrincipal(token);
+        if (principal == null) {
             throw new RuntimeException("❌ Invalid or expired token");
         }
 
         // 🔍 Extract claims
-        String studentNumberFromToken = jwtService.getUsernameFromToken(token);
-        String role = jwtService.getRoleFromToken(token);
+        String studentNumberFromToken = principal.getSubject();
+        String role = principal.getRole();
 
         // 🧍 Find student
         StudentModel student = studentRepository.findById(studentId)
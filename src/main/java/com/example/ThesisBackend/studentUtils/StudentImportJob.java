@@ -0,0 +1,78 @@
+package com.example.ThesisBackend.studentUtils;
+
+import java.time.Instant;
+
+/**
+ * ⏳ Progress of a background CSV roster import, polled by the admin UI
+ */
+public class StudentImportJob {
+
+    public static final String QUEUED = "QUEUED";
+    public static final String RUNNING = "RUNNING";
+    public static final String COMPLETED = "COMPLETED";
+    public static final String FAILED = "FAILED";
+
+    private final String jobId;
+    private final String fileName;
+    private final Instant createdAt = Instant.now();
+    private final StudentImportReport report;
+
+    private volatile String state = QUEUED;
+    private volatile int rowsRead;
+    private volatile Instant finishedAt;
+    private volatile String message;
+
+    public StudentImportJob(String jobId, String fileName, StudentImportReport report) {
+        this.jobId = jobId;
+        this.fileName = fileName;
+        this.report = report;
+    }
+
+    public String getJobId() {
+        return jobId;
+    }
+
+    public String getFileName() {
+        return fileName;
+    }
+
+    public Instant getCreatedAt() {
+        return createdAt;
+    }
+
+    public StudentImportReport getReport() {
+        return report;
+    }
+
+    public String getState() {
+        return state;
+    }
+
+    public void setState(String state) {
+        this.state = state;
+    }
+
+    public int getRowsRead() {
+        return rowsRead;
+    }
+
+    public void setRowsRead(int rowsRead) {
+        this.rowsRead = rowsRead;
+    }
+
+    public Instant getFinishedAt() {
+        return finishedAt;
+    }
+
+    public void setFinishedAt(Instant finishedAt) {
+        this.finishedAt = finishedAt;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public void setMessage(String message) {
+        this.message = message;
+    }
+}
@@ -0,0 +1,64 @@
+package com.example.ThesisBackend.studentUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 📊 Summary + per-row results of a bulk student import.
+ * Counters always cover every row; {@code results} keeps at most {@code resultLimit} rows
+ * (optionally only the rows that were not created) so very large rosters don't pile
+ * every outcome up in memory.
+ */
+public class StudentImportReport {
+
+    private int total;
+    private int created;
+    private int skipped;
+    private int failed;
+    private final int resultLimit;
+    private final boolean problemsOnly;
+    private final List<StudentImportResult> results = new ArrayList<>();
+
+    public StudentImportReport() {
+        this(Integer.MAX_VALUE, false);
+    }
+
+    public StudentImportReport(int resultLimit, boolean problemsOnly) {
+        this.resultLimit = resultLimit;
+        this.problemsOnly = problemsOnly;
+    }
+
+    public synchronized void add(StudentImportResult result) {
+        total++;
+        switch (result.getStatus()) {
+            case StudentImportResult.CREATED -> created++;
+            case StudentImportResult.ALREADY_EXISTS, StudentImportResult.DUPLICATE_IN_UPLOAD -> skipped++;
+            default -> failed++;
+        }
+
+        boolean keep = !problemsOnly || !StudentImportResult.CREATED.equals(result.getStatus());
+        if (keep && results.size() < resultLimit) {
+            results.add(result);
+        }
+    }
+
+    public synchronized int getTotal() {
+        return total;
+    }
+
+    public synchronized int getCreated() {
+        return created;
+    }
+
+    public synchronized int getSkipped() {
+        return skipped;
+    }
+
+    public synchronized int getFailed() {
+        return failed;
+    }
+
+    public synchronized List<StudentImportResult> getResults() {
+        return new ArrayList<>(results);
+    }
+}
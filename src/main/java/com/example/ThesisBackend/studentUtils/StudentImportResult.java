@@ -0,0 +1,69 @@
+package com.example.ThesisBackend.studentUtils;
+
+/**
+ * 📋 Outcome of one roster row in a bulk student import
+ */
+public class StudentImportResult {
+
+    public static final String CREATED = "CREATED";
+    public static final String ALREADY_EXISTS = "ALREADY_EXISTS";
+    public static final String DUPLICATE_IN_UPLOAD = "DUPLICATE_IN_UPLOAD";
+    public static final String INVALID = "INVALID";
+    public static final String FAILED = "FAILED";
+
+    private int row;
+    private String studentNumber;
+    private String status;
+    private String message;
+    private String studentId;
+
+    public StudentImportResult() {
+    }
+
+    public StudentImportResult(int row, String studentNumber, String status, String message) {
+        this.row = row;
+        this.studentNumber = studentNumber;
+        this.status = status;
+        this.message = message;
+    }
+
+    public int getRow() {
+        return row;
+    }
+
+    public void setRow(int row) {
+        this.row = row;
+    }
+
+    public String getStudentNumber() {
+        return studentNumber;
+    }
+
+    public void setStudentNumber(String studentNumber) {
+        this.studentNumber = studentNumber;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public void setMessage(String message) {
+        this.message = message;
+    }
+
+    public String getStudentId() {
+        return studentId;
+    }
+
+    public void setStudentId(String studentId) {
+        this.studentId = studentId;
+    }
+}
@@ -0,0 +1,144 @@
+package com.example.ThesisBackend.Caching;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class EventFeedCacheTests {
+
+	private static final List<String> PAGE = Collections.nCopies(200, "Orientation at the main gym");
+
+	private EventFeedCache feedCache;
+	private final ObjectMapper objectMapper = new ObjectMapper();
+
+	@BeforeEach
+	void setUp() {
+		feedCache = new EventFeedCache(new CaffeineCacheManager(), objectMapper);
+	}
+
+	@Test
+	void pageIsRenderedOnceAndServedAsStoredBytes() throws IOException {
+		AtomicInteger renders = new AtomicInteger();
+
+		EventFeedCache.RenderedFeed first = feedCache.get("feed", () -> {
+			renders.incrementAndGet();
+			return PAGE;
+		});
+		EventFeedCache.RenderedFeed second = feedCache.get("feed", () -> {
+			renders.incrementAndGet();
+			return PAGE;
+		});
+
+		assertSame(first, second);
+		assertEquals(1, renders.get());
+		assertArrayEquals(objectMapper.writeValueAsBytes(PAGE), first.getJson());
+		assertArrayEquals(first.getJson(), gunzip(first.getGzip()));
+	}
+
+	@Test
+	void etagsAreStrongAndDifferPerEncoding() {
+		EventFeedCache.RenderedFeed feed = feedCache.get("feed", () -> PAGE);
+
+		assertTrue(feed.getEtag().startsWith("\"") && feed.getEtag().endsWith("\""));
+		assertEquals(feed.getEtag().substring(0, feed.getEtag().length() - 1) + "-gzip\"", feed.getGzipEtag());
+	}
+
+	@Test
+	void ifNoneMatchAcceptsEitherEncodingWeakTagsListsAndStar() {
+		EventFeedCache.RenderedFeed feed = feedCache.get("feed", () -> PAGE);
+
+		assertTrue(feed.matches(feed.getEtag()));
+		assertTrue(feed.matches(feed.getGzipEtag()));
+		assertTrue(feed.matches("W/" + feed.getEtag()));
+		assertTrue(feed.matches("\"other\", " + feed.getGzipEtag()));
+		assertTrue(feed.matches("*"));
+
+		assertFalse(feed.matches(null));
+		assertFalse(feed.matches(" "));
+		assertFalse(feed.matches("\"other\""));
+		assertFalse(feed.matches(feed.getEtag().replace("\"", "")));
+	}
+
+	@Test
+	void bumpVersionRendersAFreshPageWithANewEtag() {
+		EventFeedCache.RenderedFeed before = feedCache.get("feed", () -> PAGE);
+
+		feedCache.bumpVersion();
+		EventFeedCache.RenderedFeed after = feedCache.get("feed", () -> PAGE);
+
+		// Same bytes, but a client holding the old tag must not get a 304
+		assertArrayEquals(before.getJson(), after.getJson());
+		assertNotEquals(before.getEtag(), after.getEtag());
+		assertFalse(after.matches(before.getEtag()));
+	}
+
+	@Test
+	void etagFollowsTheBody() {
+		EventFeedCache.RenderedFeed first = feedCache.get("first", () -> List.of("a"));
+		EventFeedCache.RenderedFeed second = feedCache.get("second", () -> List.of("b"));
+
+		assertNotEquals(first.getEtag(), second.getEtag());
+	}
+
+	@Test
+	void gzipCopyIsDroppedWhenItDoesNotSaveBytes() {
+		EventFeedCache.RenderedFeed feed = feedCache.get("tiny", () -> List.of());
+
+		assertNull(feed.getGzip());
+	}
+
+	@Test
+	void failedRenderIsRethrownAndNotCached() {
+		assertThrows(IllegalArgumentException.class, () -> feedCache.get("feed", () -> {
+			throw new IllegalArgumentException("❌ Invalid cursor.");
+		}));
+
+		// The next request renders the page instead of finding the failure
+		AtomicInteger renders = new AtomicInteger();
+		feedCache.get("feed", () -> {
+			renders.incrementAndGet();
+			return PAGE;
+		});
+		assertEquals(1, renders.get());
+	}
+
+	@Test
+	void acceptsGzipHonoursQualityValues() {
+		assertTrue(EventFeedCache.acceptsGzip("gzip"));
+		assertTrue(EventFeedCache.acceptsGzip("gzip, deflate, br"));
+		assertTrue(EventFeedCache.acceptsGzip("br;q=1.0, GZIP;q=0.5"));
+		assertTrue(EventFeedCache.acceptsGzip("*"));
+		assertTrue(EventFeedCache.acceptsGzip("gzip;q=0.001"));
+
+		assertFalse(EventFeedCache.acceptsGzip(null));
+		assertFalse(EventFeedCache.acceptsGzip("identity"));
+		assertFalse(EventFeedCache.acceptsGzip("deflate, br"));
+		assertFalse(EventFeedCache.acceptsGzip("gzip;q=0"));
+		assertFalse(EventFeedCache.acceptsGzip("gzip; q=0.000"));
+		assertFalse(EventFeedCache.acceptsGzip("*;q=0"));
+	}
+
+	private static byte[] gunzip(byte[] gzip) throws IOException {
+		try (InputStream in = new GZIPInputStream(new ByteArrayInputStream(gzip))) {
+			return in.readAllBytes();
+		}
+	}
+}
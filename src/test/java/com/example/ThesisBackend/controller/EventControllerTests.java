@@ -0,0 +1,142 @@
+package com.example.ThesisBackend.controller;
+
+import com.example.ThesisBackend.Caching.EventFeedCache;
+import com.example.ThesisBackend.eventUtils.CursorPage;
+import com.example.ThesisBackend.eventUtils.EventSummary;
+import com.example.ThesisBackend.service.EventService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class EventControllerTests {
+
+	private MockMvc mockMvc;
+	private EventService eventService;
+	private EventFeedCache eventFeedCache;
+
+	@BeforeEach
+	void setUp() {
+		eventService = mock(EventService.class);
+		eventFeedCache = new EventFeedCache(new CaffeineCacheManager(), Jackson2ObjectMapperBuilder.json().build());
+
+		EventController controller = new EventController();
+		ReflectionTestUtils.setField(controller, "eventService", eventService);
+		ReflectionTestUtils.setField(controller, "eventFeedCache", eventFeedCache);
+		mockMvc = MockMvcBuilders.standaloneSetup(controller).build();
+
+		when(eventService.getEventSummaries(any(), any(), any(), any(), any(), anyInt()))
+				.thenAnswer(invocation -> page());
+	}
+
+	@Test
+	void feedIsGzippedWhenTheClientAcceptsIt() throws Exception {
+		EventFeedCache.RenderedFeed feed = renderedFeed();
+
+		mockMvc.perform(get("/api/events").header(HttpHeaders.ACCEPT_ENCODING, "gzip, deflate"))
+				.andExpect(status().isOk())
+				.andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+				.andExpect(header().string(HttpHeaders.ETAG, feed.getGzipEtag()))
+				.andExpect(header().string(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING))
+				.andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-cache"))
+				.andExpect(content().bytes(feed.getGzip()));
+	}
+
+	@Test
+	void feedIsPlainJsonWithoutGzip() throws Exception {
+		EventFeedCache.RenderedFeed feed = renderedFeed();
+
+		for (String acceptEncoding : new String[] {null, "identity", "gzip;q=0"}) {
+			mockMvc.perform(acceptEncoding == null
+							? get("/api/events")
+							: get("/api/events").header(HttpHeaders.ACCEPT_ENCODING, acceptEncoding))
+					.andExpect(status().isOk())
+					.andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING))
+					.andExpect(header().string(HttpHeaders.ETAG, feed.getEtag()))
+					.andExpect(header().string(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING))
+					.andExpect(content().bytes(feed.getJson()));
+		}
+	}
+
+	@Test
+	void matchingIfNoneMatchGetsAnEmpty304() throws Exception {
+		MvcResult first = mockMvc.perform(get("/api/events").header(HttpHeaders.ACCEPT_ENCODING, "gzip"))
+				.andExpect(status().isOk())
+				.andReturn();
+		String etag = first.getResponse().getHeader(HttpHeaders.ETAG);
+
+		MvcResult revalidated = mockMvc.perform(get("/api/events")
+						.header(HttpHeaders.ACCEPT_ENCODING, "gzip")
+						.header(HttpHeaders.IF_NONE_MATCH, etag))
+				.andExpect(status().isNotModified())
+				.andExpect(header().string(HttpHeaders.ETAG, etag))
+				.andExpect(header().string(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING))
+				.andReturn();
+
+		assertEquals(0, revalidated.getResponse().getContentAsByteArray().length);
+		// Both requests were answered from the one rendered page
+		verify(eventService, times(1)).getEventSummaries(any(), any(), any(), any(), any(), anyInt());
+	}
+
+	@Test
+	void staleIfNoneMatchGetsTheNewPage() throws Exception {
+		String etag = mockMvc.perform(get("/api/events"))
+				.andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+		eventFeedCache.bumpVersion();
+
+		mockMvc.perform(get("/api/events").header(HttpHeaders.IF_NONE_MATCH, etag))
+				.andExpect(status().isOk())
+				.andExpect(content().bytes(renderedFeed().getJson()));
+	}
+
+	@Test
+	void badCursorIsABadRequest() throws Exception {
+		when(eventService.getEventSummaries(any(), any(), any(), any(), any(), anyInt()))
+				.thenThrow(new IllegalArgumentException("❌ Invalid cursor."));
+
+		mockMvc.perform(get("/api/events").param("after", "nope"))
+				.andExpect(status().isBadRequest());
+	}
+
+	private static CursorPage<EventSummary> page() {
+		List<EventSummary> summaries = new ArrayList<>();
+		for (int i = 0; i < 20; i++) {
+			EventSummary summary = new EventSummary();
+			summary.setId(String.format("%024x", i));
+			summary.setEventTitle("Orientation " + i);
+			summary.setEventLocation("Main gym");
+			summary.setEventCategory("Academic");
+			summary.setEventStart(Instant.parse("2025-10-20T06:00:00Z").minusSeconds(3600L * i));
+			summaries.add(summary);
+		}
+		return new CursorPage<>(summaries, "next");
+	}
+
+	// The page the controller will serve for the default query
+	private EventFeedCache.RenderedFeed renderedFeed() {
+		return eventFeedCache.get(EventFeedCache.key(null, null, null, null, null, 20),
+				() -> eventService.getEventSummaries(null, null, null, null, null, 20));
+	}
+}
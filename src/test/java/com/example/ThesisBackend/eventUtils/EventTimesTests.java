@@ -0,0 +1,102 @@
+package com.example.ThesisBackend.eventUtils;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class EventTimesTests {
+
+	private static final ZoneId MANILA = ZoneId.of("Asia/Manila");
+
+	@Test
+	void parseStartReadsEveryDateFormat() {
+		Instant expected = Instant.parse("2025-10-20T06:00:00Z");   // 14:00 in Manila
+
+		assertEquals(expected, EventTimes.parseStart("2025-10-20", "14:00", MANILA));
+		assertEquals(expected, EventTimes.parseStart("10/20/2025", "14:00", MANILA));
+		assertEquals(expected, EventTimes.parseStart("October 20, 2025", "14:00", MANILA));
+		assertEquals(expected, EventTimes.parseStart("Oct 20, 2025", "14:00", MANILA));
+		assertEquals(expected, EventTimes.parseStart("october 20 2025", "14:00", MANILA));
+	}
+
+	@Test
+	void parseStartReadsTwelveHourTimes() {
+		Instant expected = Instant.parse("2025-10-20T06:00:00Z");
+
+		assertEquals(expected, EventTimes.parseStart("2025-10-20", "2:00 PM", MANILA));
+		assertEquals(expected, EventTimes.parseStart("2025-10-20", "2:00PM", MANILA));
+		assertEquals(expected, EventTimes.parseStart("2025-10-20", "2PM", MANILA));
+		assertEquals(expected, EventTimes.parseStart("2025-10-20", "2 pm", MANILA));
+		assertEquals(expected, EventTimes.parseStart("2025-10-20", "2 p.m.", MANILA));
+	}
+
+	@Test
+	void parseStartWithoutTimeIsStartOfDay() {
+		assertEquals(Instant.parse("2025-10-19T16:00:00Z"), EventTimes.parseStart("2025-10-20", null, MANILA));
+		assertEquals(Instant.parse("2025-10-19T16:00:00Z"), EventTimes.parseStart("2025-10-20", "soon", MANILA));
+	}
+
+	@Test
+	void parseStartKeepsTimestampUnlessTimeGiven() {
+		assertEquals(Instant.parse("2025-10-20T00:30:00Z"),
+				EventTimes.parseStart("2025-10-20T00:30:00Z", null, MANILA));
+		// 00:30Z is already the 20th in Manila; eventTime replaces the time of day there
+		assertEquals(Instant.parse("2025-10-20T01:00:00Z"),
+				EventTimes.parseStart("2025-10-20T00:30:00Z", "9:00 AM", MANILA));
+	}
+
+	@Test
+	void parseStartRejectsUnreadableDates() {
+		assertNull(EventTimes.parseStart(null, "14:00", MANILA));
+		assertNull(EventTimes.parseStart(" ", "14:00", MANILA));
+		assertNull(EventTimes.parseStart("next Friday", "14:00", MANILA));
+		assertNull(EventTimes.parseStart("2025-13-40", null, MANILA));
+	}
+
+	@Test
+	void parseLengthReadsUnitsAndCombinations() {
+		assertEquals(Duration.ofHours(2), EventTimes.parseLength("2 hours"));
+		assertEquals(Duration.ofHours(1), EventTimes.parseLength("1 hour"));
+		assertEquals(Duration.ofHours(3), EventTimes.parseLength("3hrs"));
+		assertEquals(Duration.ofMinutes(90), EventTimes.parseLength("1h 30m"));
+		assertEquals(Duration.ofMinutes(90), EventTimes.parseLength("1 hour 30 minutes"));
+		assertEquals(Duration.ofMinutes(90), EventTimes.parseLength("90 minutes"));
+		assertEquals(Duration.ofMinutes(45), EventTimes.parseLength("45 mins"));
+		assertEquals(Duration.ofMinutes(90), EventTimes.parseLength("1.5 hrs"));
+		assertEquals(Duration.ofMinutes(90), EventTimes.parseLength("1:30"));
+		assertEquals(Duration.ofHours(2), EventTimes.parseLength("2"));
+		assertEquals(Duration.ofMinutes(150), EventTimes.parseLength("2.5"));
+		assertEquals(Duration.ofHours(2), EventTimes.parseLength(" 2 Hours "));
+	}
+
+	@Test
+	void parseLengthRejectsUnreadableLengths() {
+		assertNull(EventTimes.parseLength(null));
+		assertNull(EventTimes.parseLength(""));
+		assertNull(EventTimes.parseLength("all day"));
+	}
+
+	@Test
+	void parseEndFallsBackToEndOfDay() {
+		Instant start = Instant.parse("2025-10-20T06:00:00Z");
+
+		assertEquals(Instant.parse("2025-10-20T07:30:00Z"), EventTimes.parseEnd(start, "1h 30m", MANILA));
+		assertEquals(Instant.parse("2025-10-20T16:00:00Z"), EventTimes.parseEnd(start, "all day", MANILA));
+		assertNull(EventTimes.parseEnd(null, "2 hours", MANILA));
+	}
+
+	@Test
+	void rangeBoundsCoverWholeDays() {
+		assertEquals(Instant.parse("2025-09-30T16:00:00Z"), EventTimes.parseRangeFrom("2025-10-01", MANILA));
+		assertEquals(Instant.parse("2025-10-01T16:00:00Z"), EventTimes.parseRangeUntil("2025-10-01", MANILA));
+		assertEquals(Instant.parse("2025-10-01T08:00:00.001Z"),
+				EventTimes.parseRangeUntil("2025-10-01T08:00:00Z", MANILA));
+		assertNull(EventTimes.parseRangeFrom("yesterday", MANILA));
+		assertNull(EventTimes.parseRangeUntil("yesterday", MANILA));
+	}
+}
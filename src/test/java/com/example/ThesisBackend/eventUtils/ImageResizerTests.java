@@ -0,0 +1,101 @@
+package com.example.ThesisBackend.eventUtils;
+
+import org.junit.jupiter.api.Test;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.CRC32;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ImageResizerTests {
+
+	private static final long MAX_PIXELS = 50_000_000L;
+
+	@Test
+	void rejectsOversizedDimensionsFromTheHeaderAlone() {
+		// A PNG header declaring 30000x30000 and no pixel data: must fail before any decoding
+		byte[] bomb = pngHeader(30_000, 30_000);
+
+		IOException e = assertThrows(IOException.class,
+				() -> ImageResizer.decode(new ByteArrayInputStream(bomb), 1600, MAX_PIXELS));
+		assertEquals("❌ Image is 30000x30000 pixels, more than " + MAX_PIXELS, e.getMessage());
+	}
+
+	@Test
+	void subsamplesDownToAboutTheLargestVariant() throws IOException {
+		byte[] png = png(new BufferedImage(4000, 1000, BufferedImage.TYPE_INT_RGB));
+
+		BufferedImage decoded = ImageResizer.decode(new ByteArrayInputStream(png), 1600, MAX_PIXELS);
+		assertEquals(2000, decoded.getWidth());
+		assertEquals(500, decoded.getHeight());
+	}
+
+	@Test
+	void smallImagesAreDecodedAtFullSize() throws IOException {
+		byte[] png = png(new BufferedImage(800, 600, BufferedImage.TYPE_INT_RGB));
+
+		BufferedImage decoded = ImageResizer.decode(new ByteArrayInputStream(png), 1600, MAX_PIXELS);
+		assertEquals(800, decoded.getWidth());
+		assertEquals(600, decoded.getHeight());
+	}
+
+	@Test
+	void unknownFormatsDecodeToNull() throws IOException {
+		byte[] bytes = "RIFF\0\0\0\0WEBPVP8 ".getBytes(StandardCharsets.ISO_8859_1);
+		assertNull(ImageResizer.decode(new ByteArrayInputStream(bytes), 1600, MAX_PIXELS));
+	}
+
+	@Test
+	void transparencyIsFlattenedOntoWhiteAtTheTargetSize() throws IOException {
+		BufferedImage transparent = new BufferedImage(1000, 500, BufferedImage.TYPE_INT_ARGB);
+
+		byte[] jpeg = ImageResizer.toJpeg(transparent, 300, 0.8f);
+		BufferedImage result = ImageIO.read(new ByteArrayInputStream(jpeg));
+		assertEquals(300, result.getWidth());
+		assertEquals(150, result.getHeight());
+		int rgb = result.getRGB(150, 75) & 0xFFFFFF;
+		assertEquals(0xFF, (rgb >> 16) & 0xFF, 2);
+		assertEquals(0xFF, (rgb >> 8) & 0xFF, 2);
+		assertEquals(0xFF, rgb & 0xFF, 2);
+	}
+
+	private static byte[] png(BufferedImage image) throws IOException {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		ImageIO.write(image, "png", out);
+		return out.toByteArray();
+	}
+
+	// PNG signature plus a valid IHDR chunk (8-bit RGB), nothing after it
+	private static byte[] pngHeader(int width, int height) {
+		try {
+			ByteArrayOutputStream ihdr = new ByteArrayOutputStream();
+			DataOutputStream data = new DataOutputStream(ihdr);
+			data.writeBytes("IHDR");
+			data.writeInt(width);
+			data.writeInt(height);
+			data.write(new byte[] {8, 2, 0, 0, 0});
+			byte[] chunk = ihdr.toByteArray();
+
+			CRC32 crc = new CRC32();
+			crc.update(chunk);
+
+			ByteArrayOutputStream out = new ByteArrayOutputStream();
+			DataOutputStream png = new DataOutputStream(out);
+			png.write(new byte[] {(byte) 0x89, 'P', 'N', 'G', 0x0D, 0x0A, 0x1A, 0x0A});
+			png.writeInt(chunk.length - 4);
+			png.write(chunk);
+			png.writeInt((int) crc.getValue());
+			return out.toByteArray();
+		} catch (IOException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+}
@@ -0,0 +1,104 @@
+package com.example.ThesisBackend.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class JWTServiceTests {
+
+	private static final String SECRET = "0123456789abcdef0123456789abcdef0123456789abcdef0123456789abcdef";
+	private static final long EXPIRATION_MS = TimeUnit.MINUTES.toMillis(1);
+
+	private MovableClock clock;
+	private JWTService jwtService;
+	private SimpleMeterRegistry registry;
+
+	@BeforeEach
+	void setUp() {
+		// Whole seconds, like the iat / exp claims
+		clock = new MovableClock(Instant.now().truncatedTo(ChronoUnit.SECONDS));
+		jwtService = new JWTService(SECRET, new String[0], EXPIRATION_MS, 100, clock);
+		registry = new SimpleMeterRegistry();
+		jwtService.bindTo(registry);
+	}
+
+	@Test
+	void verifiedTokenIsAnsweredFromTheCacheUntilExp() {
+		String token = jwtService.generateToken("2021-0001", "STUDENT");
+
+		assertNotNull(jwtService.parseToken(token));
+		clock.advance(Duration.ofMillis(EXPIRATION_MS - 1));
+		JwtPrincipal principal = jwtService.parseToken(token);
+
+		assertNotNull(principal);
+		assertEquals("2021-0001", principal.getSubject());
+		assertEquals("STUDENT", principal.getRole());
+		assertEquals(1, verifications("valid"));
+	}
+
+	@Test
+	void cachedTokenIsRejectedOnceExpHasPassed() {
+		String token = jwtService.generateToken("2021-0001", "STUDENT");
+		assertNotNull(jwtService.parseToken(token));
+
+		clock.advance(Duration.ofMillis(EXPIRATION_MS + 1));
+
+		// Gone from the cache just past exp, so the token is checked again and the check fails
+		assertNull(jwtService.parseToken(token));
+		assertEquals(1, verifications("valid"));
+		assertEquals(1, verifications("invalid"));
+	}
+
+	@Test
+	void invalidTokenIsNeverCached() {
+		String token = jwtService.generateToken("2021-0001", "STUDENT");
+		String tampered = token.substring(0, token.length() - 2) + (token.endsWith("AA") ? "BB" : "AA");
+
+		assertNull(jwtService.parseToken(tampered));
+		assertNull(jwtService.parseToken(tampered));
+		assertEquals(2, verifications("invalid"));
+	}
+
+	private long verifications(String outcome) {
+		return registry.get("jwt.verify").tag("outcome", outcome).timer().count();
+	}
+
+	private static final class MovableClock extends Clock {
+		private Instant now;
+
+		private MovableClock(Instant now) {
+			this.now = now;
+		}
+
+		void advance(Duration duration) {
+			now = now.plus(duration);
+		}
+
+		@Override
+		public Instant instant() {
+			return now;
+		}
+
+		@Override
+		public ZoneId getZone() {
+			return ZoneOffset.UTC;
+		}
+
+		@Override
+		public Clock withZone(ZoneId zone) {
+			return this;
+		}
+	}
+}
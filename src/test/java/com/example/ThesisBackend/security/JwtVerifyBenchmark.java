@@ -0,0 +1,64 @@
+package com.example.ThesisBackend.security;
+
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ⏱️ Per-token verify cost: old JWTService (key + parser built on every call)
+ * vs. the cached key and reusable JwtParser vs. a verified-token cache hit.
+ *
+ * Run with: mvn test-compile, then start {@link #main(String[])} from the IDE
+ * (or with target/test-classes + the test classpath on the command line).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtVerifyBenchmark {
+
+    private static final String SECRET = "benchmark-secret-benchmark-secret-benchmark-secret-0123456789";
+
+    private JWTService jwtService;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        jwtService = new JWTService(SECRET, new String[0], TimeUnit.HOURS.toMillis(1), 1_000);
+        token = jwtService.generateToken("2021-00001", "STUDENT");
+    }
+
+    @Benchmark
+    public Object legacyVerify() {
+        // Same work the old getSigningKey() + Jwts.parser()...build() did per call
+        return Jwts.parser()
+                .verifyWith(Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8)))
+                .build()
+                .parseSignedClaims(token)
+                .getPayload();
+    }
+
+    @Benchmark
+    public Object cachedParserVerify() {
+        return jwtService.verifyToken(token);
+    }
+
+    @Benchmark
+    public Object verifiedCacheHit() {
+        return jwtService.parseToken(token);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(JwtVerifyBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,93 @@
+package com.example.ThesisBackend.service;
+
+import com.example.ThesisBackend.eventUtils.AttendanceUploadResult;
+import com.example.ThesisBackend.eventUtils.EventAttendance;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ⏱️ In-memory duplicate detection only, for an offline scanner upload of 5,000 attendees against
+ * an event that already has 5,000 recorded: old per-row anyMatch over the growing list vs. the
+ * HashSet pass used by {@link EventService#addMultipleStudentsInEvent}.
+ * No database work is measured here; the full upload (lookups, bulk writes, insert, $inc)
+ * against MongoDB is timed by {@link AttendanceUploadPipelineBenchmark}.
+ *
+ * Run with: mvn test-compile, then start {@link #main(String[])} from the IDE
+ * (or with target/test-classes + the test classpath on the command line).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AttendanceUploadBenchmark {
+
+    @Param("5000")
+    private int attendees;
+
+    private List<EventAttendance> recorded;
+    private List<EventAttendance> upload;
+
+    @Setup
+    public void setUp() {
+        recorded = new ArrayList<>(attendees);
+        for (int i = 0; i < attendees; i++) {
+            recorded.add(attendance(i));
+        }
+
+        // Half already on the event, half new
+        upload = new ArrayList<>(attendees);
+        for (int i = attendees / 2; i < attendees + attendees / 2; i++) {
+            upload.add(attendance(i));
+        }
+    }
+
+    @Benchmark
+    public int legacyAnyMatch() {
+        List<EventAttendance> eventAttendances = new ArrayList<>(recorded);
+        int added = 0;
+        for (EventAttendance attendance : upload) {
+            boolean alreadyInEvent = eventAttendances.stream()
+                    .anyMatch(a -> attendance.getStudentId().equals(a.getStudentId()));
+            if (!alreadyInEvent) {
+                eventAttendances.add(attendance);
+                added++;
+            }
+        }
+        return added;
+    }
+
+    @Benchmark
+    public int hashSetSelection() {
+        Set<String> recordedIds = new HashSet<>(recorded.size() * 2);
+        for (EventAttendance attendance : recorded) {
+            recordedIds.add(attendance.getStudentId());
+        }
+        return EventService.selectNewAttendances(upload, recordedIds,
+                new AttendanceUploadResult("event", upload.size())).size();
+    }
+
+    private static EventAttendance attendance(int i) {
+        EventAttendance attendance = new EventAttendance();
+        attendance.setStudentId(String.format("%024x", i));
+        attendance.setStudentNumber("2021-" + i);
+        attendance.setStudentName("Student " + i);
+        attendance.setDateScanned("2026-01-01T08:00:00Z");
+        return attendance;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(AttendanceUploadBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,157 @@
+package com.example.ThesisBackend.service;
+
+import com.example.ThesisBackend.Model.EventAttendanceModel;
+import com.example.ThesisBackend.Model.EventModel;
+import com.example.ThesisBackend.Model.StudentModel;
+import com.example.ThesisBackend.ThesisBackendApplication;
+import com.example.ThesisBackend.eventUtils.AttendanceUploadResult;
+import com.example.ThesisBackend.eventUtils.EventAttendance;
+import com.example.ThesisBackend.security.JWTService;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.testcontainers.containers.MongoDBContainer;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ⏱️ The whole 5,000-attendee upload through {@link EventService#addMultipleStudentsInEvent}
+ * against a real MongoDB: the $in lookups, the bulk student updates, the unordered attendance
+ * insert and the attendanceCount $inc. Half the upload is already recorded on the event.
+ * {@link #coldUpload()} starts from freshly seeded data; {@link #resentUpload(SentOnce)} sends the same
+ * upload a second time (every row a duplicate). What gets written is checked by
+ * {@link AttendanceUploadPipelineTests}.
+ *
+ * Needs Docker (Testcontainers). Run with: mvn test-compile, then start {@link #main(String[])}
+ * from the IDE (or with target/test-classes + the test classpath on the command line).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+public class AttendanceUploadPipelineBenchmark {
+
+    @Param("5000")
+    private int attendees;
+
+    private MongoDBContainer mongo;
+    private ConfigurableApplicationContext context;
+    private EventService eventService;
+    private MongoTemplate mongoTemplate;
+
+    private String eventId;
+    private String token;
+    private List<EventAttendance> upload;
+
+    @Setup(Level.Trial)
+    public void startApplication() {
+        mongo = new MongoDBContainer("mongo:7.0");
+        mongo.start();
+
+        context = new SpringApplicationBuilder(ThesisBackendApplication.class)
+                .properties(
+                        "spring.data.mongodb.uri=" + mongo.getReplicaSetUrl("thesisBackEnd"),
+                        "jwt.secret=0123456789abcdef0123456789abcdef0123456789abcdef0123456789abcdef",
+                        "jwt.expirationMs=3600000",
+                        "server.port=0")
+                .run();
+        eventService = context.getBean(EventService.class);
+        mongoTemplate = context.getBean(MongoTemplate.class);
+        token = "Bearer " + context.getBean(JWTService.class).generateToken("2021-admin", "ADMIN");
+
+        // Half already recorded, half new
+        upload = new ArrayList<>(attendees);
+        for (int i = attendees / 2; i < attendees + attendees / 2; i++) {
+            upload.add(attendance(i));
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void stopApplication() {
+        context.close();
+        mongo.stop();
+    }
+
+    @Setup(Level.Invocation)
+    public void seed() {
+        mongoTemplate.remove(new Query(), StudentModel.class);
+        mongoTemplate.remove(new Query(), EventAttendanceModel.class);
+        mongoTemplate.remove(new Query(), EventModel.class);
+
+        EventModel event = new EventModel();
+        event.setEventTitle("Benchmark event");
+        event.setAttendanceCount(attendees);
+        eventId = mongoTemplate.insert(event).getId();
+
+        // Students 0 .. 1.5 × attendees; the first attendees are already recorded on the event
+        BulkOperations students = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, StudentModel.class);
+        BulkOperations recorded = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, EventAttendanceModel.class);
+        for (int i = 0; i < attendees + attendees / 2; i++) {
+            StudentModel student = new StudentModel();
+            student.setId(studentId(i));
+            student.setStudentNumber("2021-" + i);
+            student.setStudentName("Student " + i);
+            students.insert(student);
+
+            if (i < attendees) {
+                EventAttendanceModel record = new EventAttendanceModel();
+                record.setEventId(eventId);
+                record.setStudentId(studentId(i));
+                record.setStudentNumber("2021-" + i);
+                record.setStudentName("Student " + i);
+                recorded.insert(record);
+            }
+        }
+        students.execute();
+        recorded.execute();
+    }
+
+    @Benchmark
+    public AttendanceUploadResult coldUpload() {
+        return eventService.addMultipleStudentsInEvent(eventId, token, upload);
+    }
+
+    @Benchmark
+    public AttendanceUploadResult resentUpload(SentOnce sentOnce) {
+        return eventService.addMultipleStudentsInEvent(eventId, token, upload);
+    }
+
+    // The upload already went through once (after the seed), outside the measured call
+    @State(Scope.Benchmark)
+    public static class SentOnce {
+
+        @Setup(Level.Invocation)
+        public void send(AttendanceUploadPipelineBenchmark benchmark) {
+            benchmark.eventService.addMultipleStudentsInEvent(benchmark.eventId, benchmark.token, benchmark.upload);
+        }
+    }
+
+    private static String studentId(int i) {
+        return String.format("%024x", i + 1);
+    }
+
+    private static EventAttendance attendance(int i) {
+        EventAttendance attendance = new EventAttendance();
+        attendance.setStudentId(studentId(i));
+        attendance.setStudentNumber("2021-" + i);
+        attendance.setStudentName("Student " + i);
+        attendance.setDateScanned("2026-01-01T08:00:00Z");
+        return attendance;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(AttendanceUploadPipelineBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
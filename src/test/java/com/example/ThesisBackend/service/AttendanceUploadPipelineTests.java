@@ -0,0 +1,250 @@
+package com.example.ThesisBackend.service;
+
+import com.example.ThesisBackend.Model.EventAttendanceModel;
+import com.example.ThesisBackend.Model.EventModel;
+import com.example.ThesisBackend.Model.StudentModel;
+import com.example.ThesisBackend.eventUtils.AttendanceUploadResult;
+import com.example.ThesisBackend.eventUtils.EventAttendance;
+import com.example.ThesisBackend.security.JWTService;
+import com.example.ThesisBackend.studentUtils.StudentEventAttended;
+import com.example.ThesisBackend.studentUtils.StudentEventAttendedAndEvaluationDetails;
+import com.example.ThesisBackend.studentUtils.StudentNotification;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.testcontainers.containers.MongoDBContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * The bulk attendance upload through {@link EventService#addMultipleStudentsInEvent} against a
+ * real MongoDB: every $push / positional $set / $pull the pipeline sends to the students, the
+ * attendance insert and the attendanceCount $inc, and that re-sending an upload changes nothing.
+ * Timing lives in {@link AttendanceUploadPipelineBenchmark}.
+ *
+ * Needs Docker (Testcontainers); skipped otherwise.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+@SpringBootTest
+class AttendanceUploadPipelineTests {
+
+	@Container
+	@ServiceConnection
+	static MongoDBContainer mongo = new MongoDBContainer("mongo:7.0");
+
+	@Autowired
+	private EventService eventService;
+
+	@Autowired
+	private JWTService jwtService;
+
+	@Autowired
+	private MongoTemplate mongoTemplate;
+
+	private String eventId;
+	private String otherEventId;
+	private String token;
+
+	@BeforeEach
+	void seed() {
+		mongoTemplate.remove(new Query(), StudentModel.class);
+		mongoTemplate.remove(new Query(), EventAttendanceModel.class);
+		mongoTemplate.remove(new Query(), EventModel.class);
+
+		EventModel event = new EventModel();
+		event.setEventTitle("Orientation");
+		event.setAttendanceCount(1);
+		eventId = mongoTemplate.insert(event).getId();
+
+		EventModel other = new EventModel();
+		other.setEventTitle("Sports fest");
+		otherEventId = mongoTemplate.insert(other).getId();
+
+		// Arrays never set (stored as null)
+		mongoTemplate.insert(student(1));
+
+		// Registered for the event: an unattended entry and a notification for it, plus another event's
+		StudentModel registered = student(2);
+		registered.setStudentEventAttended(new ArrayList<>());
+		registered.setStudentEventAttendedAndEvaluationDetails(new ArrayList<>(List.of(
+				details(eventId, false), details(otherEventId, true))));
+		registered.setStudentNotifications(new ArrayList<>(List.of(
+				notification(eventId), notification(otherEventId))));
+		mongoTemplate.insert(registered);
+
+		// Already has the event in studentEventAttended, but no attendance record yet
+		StudentModel listed = student(3);
+		listed.setStudentEventAttended(new ArrayList<>(List.of(attended(eventId))));
+		listed.setStudentEventAttendedAndEvaluationDetails(new ArrayList<>());
+		listed.setStudentNotifications(new ArrayList<>());
+		mongoTemplate.insert(listed);
+
+		// Already recorded on the event
+		mongoTemplate.insert(student(4));
+		EventAttendanceModel record = new EventAttendanceModel();
+		record.setEventId(eventId);
+		record.setStudentId(studentId(4));
+		record.setStudentNumber("2021-4");
+		record.setStudentName("Student 4");
+		mongoTemplate.insert(record);
+
+		token = "Bearer " + jwtService.generateToken("2021-admin", "ADMIN");
+	}
+
+	@Test
+	void uploadCountsEveryRowOnce() {
+		EventAttendance invalid = attendance(5);
+		invalid.setStudentName(" ");
+
+		List<EventAttendance> upload = List.of(
+				attendance(1), attendance(2), attendance(3), attendance(4),
+				attendance(1),      // repeated in the same upload
+				attendance(99),     // no such student
+				invalid);
+
+		AttendanceUploadResult result = eventService.addMultipleStudentsInEvent(eventId, token, upload);
+
+		assertEquals(7, result.getReceived());
+		assertEquals(3, result.getAdded());
+		assertEquals(2, result.getAlreadyRecorded());
+		assertEquals(1, result.getUnknownStudents());
+		assertEquals(1, result.getInvalid());
+
+		assertEquals(4, mongoTemplate.count(new Query(Criteria.where("eventId").is(eventId)), EventAttendanceModel.class));
+		assertEquals(4, mongoTemplate.findById(eventId, EventModel.class).getAttendanceCount());
+	}
+
+	@Test
+	void uploadPushesAttendedEntriesOntoNullArrays() {
+		eventService.addMultipleStudentsInEvent(eventId, token, List.of(attendance(1)));
+
+		StudentModel student = mongoTemplate.findById(studentId(1), StudentModel.class);
+
+		assertEquals(1, student.getStudentEventAttended().size());
+		StudentEventAttended entry = student.getStudentEventAttended().get(0);
+		assertEquals(eventId, entry.getEventId());
+		assertEquals("Orientation", entry.getEventTitle());
+		assertEquals("2026-01-01T08:00:00Z", entry.getStudentDateAttended());
+
+		assertEquals(1, student.getStudentEventAttendedAndEvaluationDetails().size());
+		StudentEventAttendedAndEvaluationDetails details = student.getStudentEventAttendedAndEvaluationDetails().get(0);
+		assertEquals(eventId, details.getEventId());
+		assertEquals(true, details.getAttended());
+		assertEquals(false, details.getEvaluated());
+
+		assertTrue(student.getStudentNotifications().isEmpty());
+	}
+
+	@Test
+	void uploadMarksTheExistingEntryAndPullsOnlyThatEventsNotification() {
+		eventService.addMultipleStudentsInEvent(eventId, token, List.of(attendance(2)));
+
+		StudentModel student = mongoTemplate.findById(studentId(2), StudentModel.class);
+
+		assertEquals(1, student.getStudentEventAttended().size());
+		assertEquals(eventId, student.getStudentEventAttended().get(0).getEventId());
+
+		// Positional $set on the existing entry, no second entry pushed
+		List<StudentEventAttendedAndEvaluationDetails> details = student.getStudentEventAttendedAndEvaluationDetails();
+		assertEquals(2, details.size());
+		assertEquals(eventId, details.get(0).getEventId());
+		assertEquals(true, details.get(0).getAttended());
+		assertEquals("2026-01-01T08:00:00Z", details.get(0).getEventDateAndTime());
+		assertEquals(otherEventId, details.get(1).getEventId());
+		assertEquals(true, details.get(1).getEvaluated());
+
+		assertEquals(1, student.getStudentNotifications().size());
+		assertEquals(otherEventId, student.getStudentNotifications().get(0).getEventId());
+	}
+
+	@Test
+	void uploadDoesNotRepeatAnEventTheStudentAlreadyLists() {
+		eventService.addMultipleStudentsInEvent(eventId, token, List.of(attendance(3)));
+
+		StudentModel student = mongoTemplate.findById(studentId(3), StudentModel.class);
+		assertEquals(1, student.getStudentEventAttended().size());
+		assertEquals(1, student.getStudentEventAttendedAndEvaluationDetails().size());
+	}
+
+	@Test
+	void resentUploadChangesNothing() {
+		List<EventAttendance> upload = List.of(attendance(1), attendance(2), attendance(3));
+		eventService.addMultipleStudentsInEvent(eventId, token, upload);
+
+		AttendanceUploadResult resent = eventService.addMultipleStudentsInEvent(eventId, token, upload);
+
+		assertEquals(0, resent.getAdded());
+		assertEquals(3, resent.getAlreadyRecorded());
+		assertEquals(4, mongoTemplate.findById(eventId, EventModel.class).getAttendanceCount());
+		for (int i = 1; i <= 3; i++) {
+			StudentModel student = mongoTemplate.findById(studentId(i), StudentModel.class);
+			assertEquals(1, student.getStudentEventAttended().size());
+			assertEquals(1, student.getStudentEventAttendedAndEvaluationDetails().stream()
+					.filter(entry -> eventId.equals(entry.getEventId()))
+					.count());
+		}
+	}
+
+	@Test
+	void uploadLeavesStudentsThatWereAlreadyRecordedAlone() {
+		eventService.addMultipleStudentsInEvent(eventId, token, List.of(attendance(4)));
+
+		StudentModel student = mongoTemplate.findById(studentId(4), StudentModel.class);
+		assertEquals(null, student.getStudentEventAttended());
+		assertEquals(null, student.getStudentEventAttendedAndEvaluationDetails());
+	}
+
+	private static String studentId(int i) {
+		return String.format("%024x", i);
+	}
+
+	private static StudentModel student(int i) {
+		StudentModel student = new StudentModel();
+		student.setId(studentId(i));
+		student.setStudentNumber("2021-" + i);
+		student.setStudentName("Student " + i);
+		return student;
+	}
+
+	private static EventAttendance attendance(int i) {
+		EventAttendance attendance = new EventAttendance();
+		attendance.setStudentId(studentId(i));
+		attendance.setStudentNumber("2021-" + i);
+		attendance.setStudentName("Student " + i);
+		attendance.setDateScanned("2026-01-01T08:00:00Z");
+		return attendance;
+	}
+
+	private static StudentEventAttended attended(String eventId) {
+		StudentEventAttended entry = new StudentEventAttended();
+		entry.setEventId(eventId);
+		entry.setEventTitle("Orientation");
+		return entry;
+	}
+
+	private static StudentEventAttendedAndEvaluationDetails details(String eventId, boolean evaluated) {
+		StudentEventAttendedAndEvaluationDetails details = new StudentEventAttendedAndEvaluationDetails();
+		details.setEventId(eventId);
+		details.setAttended(false);
+		details.setEvaluated(evaluated);
+		return details;
+	}
+
+	private static StudentNotification notification(String eventId) {
+		StudentNotification notification = new StudentNotification();
+		notification.setEventId(eventId);
+		notification.setEventTitle("Reminder");
+		return notification;
+	}
+}
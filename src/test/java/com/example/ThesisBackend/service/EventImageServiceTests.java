@@ -0,0 +1,183 @@
+package com.example.ThesisBackend.service;
+
+import com.mongodb.MongoGridFSException;
+import com.mongodb.client.gridfs.model.GridFSFile;
+import org.bson.BsonObjectId;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.gridfs.GridFsTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.multipart.MaxUploadSizeExceededException;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+class EventImageServiceTests {
+
+	private static final int MAX_UPLOAD_BYTES = 1024;
+
+	private EventImageService service;
+	private GridFsTemplate gridFsTemplate;
+
+	@BeforeEach
+	void setUp() {
+		service = new EventImageService(new CaffeineCacheManager(), 320, 720, 1600);
+		gridFsTemplate = mock(GridFsTemplate.class);
+		ReflectionTestUtils.setField(service, "gridFsTemplate", gridFsTemplate);
+		ReflectionTestUtils.setField(service, "maxUploadBytes", (long) MAX_UPLOAD_BYTES);
+	}
+
+	@AfterEach
+	void tearDown() {
+		service.shutdown();
+	}
+
+	@Test
+	void sniffsEveryAcceptedFormat() {
+		assertEquals("image/jpeg", EventImageService.sniffContentType(head(0xFF, 0xD8, 0xFF, 0xE0)));
+		assertEquals("image/png", EventImageService.sniffContentType(head(0x89, 'P', 'N', 'G', 0x0D, 0x0A, 0x1A, 0x0A)));
+		assertEquals("image/gif", EventImageService.sniffContentType(ascii("GIF89a")));
+		assertEquals("image/gif", EventImageService.sniffContentType(ascii("GIF87a")));
+		assertEquals("image/webp", EventImageService.sniffContentType(ascii("RIFF\0\0\0\0WEBPVP8 ")));
+		assertEquals("image/heic", EventImageService.sniffContentType(ftyp("heic")));
+		assertEquals("image/heic", EventImageService.sniffContentType(ftyp("mif1")));
+		assertEquals("image/avif", EventImageService.sniffContentType(ftyp("avif")));
+	}
+
+	@Test
+	void rejectsUnknownBytes() {
+		assertNull(EventImageService.sniffContentType(ascii("%PDF-1.7")));
+		assertNull(EventImageService.sniffContentType(ascii("<svg xmlns=")));
+		assertNull(EventImageService.sniffContentType(ascii("RIFF\0\0\0\0WAVEfmt ")));
+		assertNull(EventImageService.sniffContentType(ftyp("mp42")));   // video, not an image
+		assertNull(EventImageService.sniffContentType(head(0xFF, 0xD8)));   // too short
+		assertNull(EventImageService.sniffContentType(new byte[0]));
+	}
+
+	@Test
+	void sizeLimitAllowsExactlyTheLimit() throws IOException {
+		byte[] body = new byte[MAX_UPLOAD_BYTES];
+		try (InputStream in = new EventImageService.SizeLimitedInputStream(new ByteArrayInputStream(body), MAX_UPLOAD_BYTES)) {
+			assertArrayEquals(body, in.readAllBytes());
+		}
+	}
+
+	@Test
+	void sizeLimitFailsOneByteOver() {
+		byte[] body = new byte[MAX_UPLOAD_BYTES + 1];
+
+		assertThrows(EventImageService.UploadTooLargeException.class, () -> {
+			try (InputStream in = new EventImageService.SizeLimitedInputStream(new ByteArrayInputStream(body), MAX_UPLOAD_BYTES)) {
+				in.readAllBytes();
+			}
+		});
+		assertThrows(EventImageService.UploadTooLargeException.class, () -> {
+			try (InputStream in = new EventImageService.SizeLimitedInputStream(new ByteArrayInputStream(body), MAX_UPLOAD_BYTES)) {
+				while (in.read() != -1) {
+					// single-byte reads count too
+				}
+			}
+		});
+	}
+
+	@Test
+	void smallUploadOneByteOverTheLimitIsRejected() {
+		// Smaller than the sniff buffer: the limit trips while sniffing, before GridFS is called
+		byte[] body = jpeg(MAX_UPLOAD_BYTES + 1);
+		MaxUploadSizeExceededException e = assertThrows(MaxUploadSizeExceededException.class,
+				() -> service.storeImage("event", new ByteArrayInputStream(body), "poster.jpg"));
+		assertEquals(MAX_UPLOAD_BYTES, e.getMaxUploadSize());
+		verifyNoInteractions(gridFsTemplate);
+	}
+
+	@Test
+	void uploadOneByteOverTheLimitIsAborted() {
+		int limit = 1024 * 1024;
+		ReflectionTestUtils.setField(service, "maxUploadBytes", (long) limit);
+
+		// Like the driver: read the whole source, wrap its IOException and abort the upload
+		when(gridFsTemplate.store(any(InputStream.class), anyString(), anyString(), any(Document.class)))
+				.thenAnswer(invocation -> {
+					InputStream source = invocation.getArgument(0);
+					try {
+						source.readAllBytes();
+					} catch (IOException e) {
+						throw new MongoGridFSException("Unexpected Exception when reading GridFS file", e);
+					}
+					throw new AssertionError("over-limit body was read to the end");
+				});
+
+		byte[] body = jpeg(limit + 1);
+		MaxUploadSizeExceededException e = assertThrows(MaxUploadSizeExceededException.class,
+				() -> service.storeImage("event", new ByteArrayInputStream(body), "poster.jpg"));
+		assertEquals(limit, e.getMaxUploadSize());
+	}
+
+	@Test
+	void uploadOfUnknownBytesNeverReachesGridFs() {
+		byte[] body = ascii("%PDF-1.7 not an image at all");
+
+		assertThrows(IllegalArgumentException.class,
+				() -> service.storeImage("event", new ByteArrayInputStream(body), "poster.pdf"));
+		verifyNoInteractions(gridFsTemplate);
+	}
+
+	@Test
+	void unknownImageIdIsNotRememberedAsMissing() {
+		String id = new ObjectId().toHexString();
+		GridFSFile file = new GridFSFile(new BsonObjectId(new ObjectId(id)), "poster.jpg", 10, 255, new Date(),
+				new Document("contentType", "image/jpeg"));
+		// Looked up while the upload is still running, then again once it has landed
+		when(gridFsTemplate.findOne(any(Query.class))).thenReturn(null, file);
+
+		assertNull(service.findImageFile(id));
+		assertSame(file, service.findImageFile(id));
+		assertSame(file, service.findImageFile(id));
+		verify(gridFsTemplate, times(2)).findOne(any(Query.class));
+	}
+
+	private static byte[] jpeg(int length) {
+		byte[] bytes = new byte[length];
+		bytes[0] = (byte) 0xFF;
+		bytes[1] = (byte) 0xD8;
+		bytes[2] = (byte) 0xFF;
+		return bytes;
+	}
+
+	private static byte[] ftyp(String brand) {
+		return ascii("\0\0\0\u0018ftyp" + brand + "\0\0\0\0");
+	}
+
+	private static byte[] ascii(String value) {
+		return value.getBytes(StandardCharsets.ISO_8859_1);
+	}
+
+	private static byte[] head(int... values) {
+		byte[] bytes = new byte[values.length];
+		for (int i = 0; i < values.length; i++) {
+			bytes[i] = (byte) values[i];
+		}
+		return bytes;
+	}
+}
@@ -0,0 +1,78 @@
+package com.example.ThesisBackend.service;
+
+import com.example.ThesisBackend.Model.EventModel;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class EventServiceTests {
+
+	private static final String ID = "6710a1b2c3d4e5f601234567";
+	private static final Instant START = Instant.parse("2025-10-20T06:00:00Z");
+
+	@Test
+	void cursorRoundTripsStartAndId() {
+		String cursor = EventService.encodeFeedCursor(event(START));
+
+		assertEquals(START.toEpochMilli() + "\n" + ID, decode(cursor));
+		assertEquals(new Document("$or", List.of(
+						new Document("eventStart", new Document("$lt", START)),
+						new Document("$and", List.of(
+								new Document("eventStart", START),
+								new Document("_id", new Document("$lt", new ObjectId(ID))))),
+						new Document("eventStart", null))),
+				EventService.afterCursor(cursor).getCriteriaObject());
+	}
+
+	@Test
+	void cursorWithoutStartOnlyPagesThroughUndatedEvents() {
+		String cursor = EventService.encodeFeedCursor(event(null));
+
+		assertEquals("\n" + ID, decode(cursor));
+		// Undated events sort last: after one of them come only undated events with a smaller _id
+		assertEquals(new Document("$and", List.of(
+						new Document("eventStart", null),
+						new Document("_id", new Document("$lt", new ObjectId(ID))))),
+				EventService.afterCursor(cursor).getCriteriaObject());
+	}
+
+	@Test
+	void cursorIsUrlSafeWithoutPadding() {
+		String cursor = EventService.encodeFeedCursor(event(START));
+
+		assertEquals(-1, cursor.indexOf('='));
+		assertEquals(-1, cursor.indexOf('+'));
+		assertEquals(-1, cursor.indexOf('/'));
+	}
+
+	@Test
+	void malformedCursorsAreRejected() {
+		assertThrows(IllegalArgumentException.class, () -> EventService.afterCursor("not base64!"));
+		assertThrows(IllegalArgumentException.class, () -> EventService.afterCursor(encode(START.toEpochMilli() + ID)));
+		assertThrows(IllegalArgumentException.class, () -> EventService.afterCursor(encode(START.toEpochMilli() + "\nnot-an-id")));
+		assertThrows(IllegalArgumentException.class, () -> EventService.afterCursor(encode("yesterday\n" + ID)));
+	}
+
+	private static EventModel event(Instant start) {
+		EventModel event = new EventModel();
+		event.setId(ID);
+		event.setEventStart(start);
+		return event;
+	}
+
+	private static String decode(String cursor) {
+		return new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+	}
+
+	private static String encode(String value) {
+		return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+	}
+}